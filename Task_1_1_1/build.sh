@@ -1,5 +1,5 @@
 
-javac -d build/classes/java/main src/main/java/ru/nsu/shadrina/HeapSort.java src/main/java/ru/nsu/shadrina/Main.java
+javac -d build/classes/java/main $(find src/main/java -name "*.java")
 
 echo "Main-Class: ru.nsu.shadrina.Main" > MANIFEST.MF
 jar cfm build/libs/app.jar MANIFEST.MF -C build/classes/java/main .
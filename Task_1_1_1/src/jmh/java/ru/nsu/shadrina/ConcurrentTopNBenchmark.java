@@ -0,0 +1,69 @@
+package ru.nsu.shadrina;
+
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Offer throughput of {@link ConcurrentTopN} against a {@link PriorityQueue}
+ * guarded by one lock, with every thread offering random scores. Scaling is
+ * measured by overriding the thread count, e.g. {@code -t 64} on the JMH
+ * command line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+public class ConcurrentTopNBenchmark {
+    @Param({"1000"})
+    public int n;
+
+    private ConcurrentTopN topN;
+    private PriorityQueue<Double> queue;
+
+    /**
+     * Random scores of one producer thread.
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    /**
+     * Creates fresh collectors once per trial.
+     */
+    @Setup
+    public void create() {
+        topN = new ConcurrentTopN(n);
+        queue = new PriorityQueue<>(n + 1);
+    }
+
+    @Benchmark
+    public boolean concurrentTopN(Producer producer) {
+        return topN.offer(producer.random.nextDouble());
+    }
+
+    @Benchmark
+    public boolean synchronizedQueue(Producer producer) {
+        double score = producer.random.nextDouble();
+        synchronized (queue) {
+            if (queue.size() < n) {
+                return queue.add(score);
+            }
+            if (score <= queue.peek()) {
+                return false;
+            }
+            queue.poll();
+            return queue.add(score);
+        }
+    }
+}
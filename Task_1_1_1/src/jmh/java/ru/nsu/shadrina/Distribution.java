@@ -0,0 +1,77 @@
+package ru.nsu.shadrina;
+
+import java.util.SplittableRandom;
+
+/**
+ * Input shapes used by the sorting benchmarks.
+ */
+public enum Distribution {
+    RANDOM {
+        @Override
+        int[] generate(int size, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] arr = new int[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = random.nextInt();
+            }
+            return arr;
+        }
+    },
+    SORTED {
+        @Override
+        int[] generate(int size, long seed) {
+            int[] arr = new int[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = i;
+            }
+            return arr;
+        }
+    },
+    REVERSE_SORTED {
+        @Override
+        int[] generate(int size, long seed) {
+            int[] arr = new int[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = size - i;
+            }
+            return arr;
+        }
+    },
+    SAWTOOTH {
+        @Override
+        int[] generate(int size, long seed) {
+            int period = Math.max(1, (int) Math.sqrt(size));
+            int[] arr = new int[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = i % period;
+            }
+            return arr;
+        }
+    },
+    FEW_UNIQUE {
+        @Override
+        int[] generate(int size, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] arr = new int[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = random.nextInt(16);
+            }
+            return arr;
+        }
+    },
+    ALL_EQUAL {
+        @Override
+        int[] generate(int size, long seed) {
+            return new int[size];
+        }
+    };
+
+    /**
+     * Generates an input array of this shape.
+     *
+     * @param size number of elements
+     * @param seed seed for the random shapes
+     * @return freshly allocated array
+     */
+    abstract int[] generate(int size, long seed);
+}
@@ -0,0 +1,127 @@
+package ru.nsu.shadrina;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link HeapSort} with the JDK sorts across sizes and input shapes.
+ *
+ * <p>Every sort first copies the unsorted input into a work array inside the
+ * measured method: a per-invocation setup would add timer overhead that swamps
+ * the small sizes. Subtract the {@code copyOnly} score at the same size to get
+ * the cost of the sort alone. Scores are reported per sort; divide by
+ * {@code size} to get ns/element.
+ * Allocation rate and GC counts come from the {@code gc} profiler configured
+ * in {@code build.gradle}. Run with {@code ./gradlew jmh}, or narrow the set
+ * with {@code -PjmhIncludes=HeapSortBenchmark.heapsort}. Branch misses per
+ * sort, e.g. for {@code heapsortBranchless} against {@code heapsortBottomUp} on
+ * {@code RANDOM}, are reported with {@code -PjmhProfilers=gc,perfnorm} on Linux.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeapSortBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private int[] source;
+    private int[] work;
+
+    /**
+     * Generates the input once per trial.
+     */
+    @Setup(Level.Trial)
+    public void generate() {
+        source = distribution.generate(size, 42L);
+        work = new int[size];
+    }
+
+    /**
+     * Restores the unsorted input in the work array.
+     */
+    private int[] reset() {
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    /**
+     * Baseline: only the copy that precedes every sort.
+     */
+    @Benchmark
+    public int[] copyOnly() {
+        return reset();
+    }
+
+    @Benchmark
+    public int[] heapsortClassic() {
+        HeapSort.heapsort(reset(), HeapSort.Variant.CLASSIC);
+        return work;
+    }
+
+    @Benchmark
+    public int[] heapsortBottomUp() {
+        HeapSort.heapsort(reset(), HeapSort.Variant.BOTTOM_UP);
+        return work;
+    }
+
+    @Benchmark
+    public int[] heapsortBranchless() {
+        HeapSort.heapsort(reset(), HeapSort.Variant.BRANCHLESS);
+        return work;
+    }
+
+    @Benchmark
+    public int[] heapsortFourAry() {
+        HeapSort.heapsort(reset(), HeapSort.Variant.FOUR_ARY);
+        return work;
+    }
+
+    @Benchmark
+    public int[] heapsortEightAry() {
+        HeapSort.heapsort(reset(), HeapSort.Variant.EIGHT_ARY);
+        return work;
+    }
+
+    @Benchmark
+    public int[] heapsortParallel() {
+        HeapSort.parallelHeapsort(reset(), ForkJoinPool.commonPool());
+        return work;
+    }
+
+    @Benchmark
+    public int[] hybridSort() {
+        HybridSort.sort(reset());
+        return work;
+    }
+
+    @Benchmark
+    public int[] radixSort() {
+        RadixSort.sort(reset());
+        return work;
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        Arrays.sort(reset());
+        return work;
+    }
+
+    @Benchmark
+    public int[] arraysParallelSort() {
+        Arrays.parallelSort(reset());
+        return work;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.nsu.shadrina;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Merges {@code shards} sorted arrays of {@code shardSize} ints with
+ * {@link KWayMerger}, against concatenating them and calling {@link Arrays#sort}.
+ * Divide the score by {@code shards * shardSize} to get ns/element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KWayMergerBenchmark {
+    @Param({"16", "1000"})
+    public int shards;
+
+    @Param({"1000", "10000"})
+    public int shardSize;
+
+    private int[][] input;
+    private int[] output;
+
+    /**
+     * Generates the sorted shards once per trial.
+     */
+    @Setup
+    public void generate() {
+        Random random = new Random(42L);
+        input = new int[shards][];
+        for (int r = 0; r < shards; r++) {
+            input[r] = random.ints(shardSize).sorted().toArray();
+        }
+        output = new int[shards * shardSize];
+    }
+
+    @Benchmark
+    public int[] mergeArrays() {
+        IntSource[] sources = new IntSource[shards];
+        for (int r = 0; r < shards; r++) {
+            sources[r] = KWayMerger.of(input[r]);
+        }
+        new KWayMerger(sources).fill(output, 0, output.length);
+        return output;
+    }
+
+    @Benchmark
+    public int[] mergeBatched() {
+        IntSource[] sources = new IntSource[shards];
+        for (int r = 0; r < shards; r++) {
+            sources[r] = KWayMerger.of(Arrays.stream(input[r]).iterator());
+        }
+        new KWayMerger(sources).fill(output, 0, output.length);
+        return output;
+    }
+
+    @Benchmark
+    public int[] concatAndSort() {
+        for (int r = 0; r < shards; r++) {
+            System.arraycopy(input[r], 0, output, r * shardSize, shardSize);
+        }
+        Arrays.sort(output);
+        return output;
+    }
+}
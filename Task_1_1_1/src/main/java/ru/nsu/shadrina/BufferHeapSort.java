@@ -0,0 +1,290 @@
+package ru.nsu.shadrina;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * In-place heap sort of int and long buffers, including direct buffers and
+ * memory-mapped files, using absolute get/put so no copy lands on the Java heap.
+ */
+public final class BufferHeapSort {
+    /**
+     * Log2 of the bytes per mapping of a file.
+     */
+    private static final int CHUNK_SHIFT = 30;
+
+    private BufferHeapSort() {
+    }
+
+    /**
+     * Sorts the remaining elements of the buffer, between its position and limit,
+     * in ascending order. Position and limit are not changed.
+     *
+     * @param buffer buffer to sort
+     */
+    public static void sort(IntBuffer buffer) {
+        int from = buffer.position();
+        int n = buffer.remaining();
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(buffer, from, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int temp = buffer.get(from);
+            buffer.put(from, buffer.get(from + i));
+            buffer.put(from + i, temp);
+
+            heapify(buffer, from, i, 0);
+        }
+    }
+
+    /**
+     * Sorts the remaining elements of the buffer, between its position and limit,
+     * in ascending order. Position and limit are not changed.
+     *
+     * @param buffer buffer to sort
+     */
+    public static void sort(LongBuffer buffer) {
+        int from = buffer.position();
+        int n = buffer.remaining();
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(buffer, from, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            long temp = buffer.get(from);
+            buffer.put(from, buffer.get(from + i));
+            buffer.put(from + i, temp);
+
+            heapify(buffer, from, i, 0);
+        }
+    }
+
+    /**
+     * Sorts a file of big-endian ints in place through memory mappings.
+     *
+     * @param file file to sort
+     * @throws IOException if the file cannot be mapped or is not a whole number of ints
+     */
+    public static void sortIntFile(Path file) throws IOException {
+        sortIntFile(file, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Sorts a file of ints in the given byte order in place through memory mappings.
+     * Files over 2 GiB are mapped in several chunks.
+     *
+     * @param file file to sort
+     * @param order byte order of the stored ints
+     * @throws IOException if the file cannot be mapped or is not a whole number of ints
+     */
+    public static void sortIntFile(Path file, ByteOrder order) throws IOException {
+        sortIntFile(file, order, CHUNK_SHIFT);
+    }
+
+    /**
+     * Same as {@link #sortIntFile(Path, ByteOrder)} with mappings of
+     * {@code 1 << chunkShift} bytes.
+     */
+    static void sortIntFile(Path file, ByteOrder order, int chunkShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer[] mappings = map(channel, Integer.BYTES, chunkShift);
+            IntBuffer[] chunks = new IntBuffer[mappings.length];
+            for (int c = 0; c < chunks.length; c++) {
+                chunks[c] = mappings[c].order(order).asIntBuffer();
+            }
+            long n = channel.size() / Integer.BYTES;
+            int shift = chunkShift - 2;
+            for (long i = n / 2 - 1; i >= 0; i--) {
+                heapify(chunks, shift, n, i);
+            }
+            for (long i = n - 1; i > 0; i--) {
+                int temp = get(chunks, shift, 0);
+                put(chunks, shift, 0, get(chunks, shift, i));
+                put(chunks, shift, i, temp);
+
+                heapify(chunks, shift, i, 0);
+            }
+            for (MappedByteBuffer mapping : mappings) {
+                mapping.force();
+            }
+        }
+    }
+
+    /**
+     * Sorts a file of big-endian longs in place through memory mappings.
+     *
+     * @param file file to sort
+     * @throws IOException if the file cannot be mapped or is not a whole number of longs
+     */
+    public static void sortLongFile(Path file) throws IOException {
+        sortLongFile(file, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Sorts a file of longs in the given byte order in place through memory mappings.
+     * Files over 2 GiB are mapped in several chunks.
+     *
+     * @param file file to sort
+     * @param order byte order of the stored longs
+     * @throws IOException if the file cannot be mapped or is not a whole number of longs
+     */
+    public static void sortLongFile(Path file, ByteOrder order) throws IOException {
+        sortLongFile(file, order, CHUNK_SHIFT);
+    }
+
+    /**
+     * Same as {@link #sortLongFile(Path, ByteOrder)} with mappings of
+     * {@code 1 << chunkShift} bytes.
+     */
+    static void sortLongFile(Path file, ByteOrder order, int chunkShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer[] mappings = map(channel, Long.BYTES, chunkShift);
+            LongBuffer[] chunks = new LongBuffer[mappings.length];
+            for (int c = 0; c < chunks.length; c++) {
+                chunks[c] = mappings[c].order(order).asLongBuffer();
+            }
+            long n = channel.size() / Long.BYTES;
+            int shift = chunkShift - 3;
+            for (long i = n / 2 - 1; i >= 0; i--) {
+                heapify(chunks, shift, n, i);
+            }
+            for (long i = n - 1; i > 0; i--) {
+                long temp = get(chunks, shift, 0);
+                put(chunks, shift, 0, get(chunks, shift, i));
+                put(chunks, shift, i, temp);
+
+                heapify(chunks, shift, i, 0);
+            }
+            for (MappedByteBuffer mapping : mappings) {
+                mapping.force();
+            }
+        }
+    }
+
+    /**
+     * Maps the whole file read-write in chunks of {@code 1 << chunkShift} bytes.
+     */
+    private static MappedByteBuffer[] map(FileChannel channel, int elementBytes, int chunkShift)
+            throws IOException {
+        long size = channel.size();
+        if (size % elementBytes != 0) {
+            throw new IOException("File length " + size + " is not a multiple of " + elementBytes);
+        }
+        long chunkBytes = 1L << chunkShift;
+        int count = (int) ((size + chunkBytes - 1) >>> chunkShift);
+        MappedByteBuffer[] mappings = new MappedByteBuffer[count];
+        for (int c = 0; c < count; c++) {
+            long offset = (long) c << chunkShift;
+            mappings[c] = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                    Math.min(chunkBytes, size - offset));
+        }
+        return mappings;
+    }
+
+    private static void heapify(IntBuffer buffer, int from, int n, int i) {
+        int value = buffer.get(from + i);
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && buffer.get(from + right) > buffer.get(from + child)) {
+                child = right;
+            }
+            int childValue = buffer.get(from + child);
+            if (value >= childValue) {
+                break;
+            }
+            buffer.put(from + i, childValue);
+            i = child;
+        }
+        buffer.put(from + i, value);
+    }
+
+    private static void heapify(LongBuffer buffer, int from, int n, int i) {
+        long value = buffer.get(from + i);
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && buffer.get(from + right) > buffer.get(from + child)) {
+                child = right;
+            }
+            long childValue = buffer.get(from + child);
+            if (value >= childValue) {
+                break;
+            }
+            buffer.put(from + i, childValue);
+            i = child;
+        }
+        buffer.put(from + i, value);
+    }
+
+    private static int get(IntBuffer[] chunks, int shift, long index) {
+        return chunks[(int) (index >>> shift)].get((int) (index & ((1 << shift) - 1)));
+    }
+
+    private static void put(IntBuffer[] chunks, int shift, long index, int value) {
+        chunks[(int) (index >>> shift)].put((int) (index & ((1 << shift) - 1)), value);
+    }
+
+    private static long get(LongBuffer[] chunks, int shift, long index) {
+        return chunks[(int) (index >>> shift)].get((int) (index & ((1 << shift) - 1)));
+    }
+
+    private static void put(LongBuffer[] chunks, int shift, long index, long value) {
+        chunks[(int) (index >>> shift)].put((int) (index & ((1 << shift) - 1)), value);
+    }
+
+    private static void heapify(IntBuffer[] chunks, int shift, long n, long i) {
+        int value = get(chunks, shift, i);
+        long half = n >>> 1;
+        while (i < half) {
+            long child = 2 * i + 1;
+            long right = child + 1;
+            int childValue = get(chunks, shift, child);
+            if (right < n) {
+                int rightValue = get(chunks, shift, right);
+                if (rightValue > childValue) {
+                    child = right;
+                    childValue = rightValue;
+                }
+            }
+            if (value >= childValue) {
+                break;
+            }
+            put(chunks, shift, i, childValue);
+            i = child;
+        }
+        put(chunks, shift, i, value);
+    }
+
+    private static void heapify(LongBuffer[] chunks, int shift, long n, long i) {
+        long value = get(chunks, shift, i);
+        long half = n >>> 1;
+        while (i < half) {
+            long child = 2 * i + 1;
+            long right = child + 1;
+            long childValue = get(chunks, shift, child);
+            if (right < n) {
+                long rightValue = get(chunks, shift, right);
+                if (rightValue > childValue) {
+                    child = right;
+                    childValue = rightValue;
+                }
+            }
+            if (value >= childValue) {
+                break;
+            }
+            put(chunks, shift, i, childValue);
+            i = child;
+        }
+        put(chunks, shift, i, value);
+    }
+}
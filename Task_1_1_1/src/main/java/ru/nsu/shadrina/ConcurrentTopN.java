@@ -0,0 +1,171 @@
+package ru.nsu.shadrina;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe collector of the {@code n} largest double scores offered by many
+ * producer threads.
+ *
+ * <p>Producers are spread over striped min-heaps of capacity {@code n}, picked by
+ * thread id, so threads rarely share a lock. Once a stripe is full its smallest
+ * score is a lower bound for the global top {@code n}; the largest such bound is
+ * published as an admission threshold, and offers at or below it are rejected
+ * with a single volatile read. Reads merge the stripes. Scores are ordered by
+ * {@link Double#compare}.
+ */
+public final class ConcurrentTopN {
+    private final int n;
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    /**
+     * Sortable bits of the largest smallest score of a full stripe; only grows.
+     */
+    private final AtomicLong threshold = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates a collector with one stripe per two available processors, at most 64.
+     *
+     * @param n number of scores to keep
+     * @throws IllegalArgumentException if {@code n} is not positive
+     */
+    public ConcurrentTopN(int n) {
+        this(n, Math.min(64, 2 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Creates a collector with the given number of stripes, rounded up to a power
+     * of two.
+     *
+     * @param n number of scores to keep
+     * @param stripes number of producer stripes
+     * @throws IllegalArgumentException if {@code n} or {@code stripes} is not positive
+     */
+    public ConcurrentTopN(int n, int stripes) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Non-positive size: " + n);
+        }
+        if (stripes <= 0 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("Invalid stripe count: " + stripes);
+        }
+        this.n = n;
+        int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int s = 0; s < count; s++) {
+            this.stripes[s] = new Stripe(n);
+        }
+        stripeShift = Integer.SIZE - Integer.numberOfTrailingZeros(count);
+    }
+
+    /**
+     * Offers a score.
+     *
+     * @param score candidate score
+     * @return false if the score was rejected by the admission threshold or its
+     *     stripe; true if it was kept for now
+     */
+    public boolean offer(double score) {
+        long key = IndexedDoubleHeap.sortableBits(score);
+        if (key <= threshold.get()) {
+            return false;
+        }
+        Stripe stripe = stripes[stripeIndex()];
+        long bound;
+        synchronized (stripe) {
+            long[] heap = stripe.heap;
+            if (stripe.size < n) {
+                LongHeap.siftUp(heap, stripe.size++, key);
+                if (stripe.size < n) {
+                    return true;
+                }
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                LongHeap.siftDown(heap, n, 0);
+            } else {
+                return false;
+            }
+            bound = heap[0];
+        }
+        raiseThreshold(bound);
+        return true;
+    }
+
+    /**
+     * Returns the current admission threshold: scores not above it are rejected
+     * without locking. Negative infinity until some stripe fills up; NaN if a
+     * full stripe holds only NaN scores.
+     *
+     * @return admission threshold
+     */
+    public double threshold() {
+        long bits = threshold.get();
+        return bits == Long.MIN_VALUE
+                ? Double.NEGATIVE_INFINITY : IndexedDoubleHeap.fromSortableBits(bits);
+    }
+
+    /**
+     * Returns the largest scores offered so far, in descending order. Scores
+     * offered concurrently with the call may or may not be included.
+     *
+     * @return at most {@code n} scores
+     */
+    public double[] top() {
+        LongHeap merged = new LongHeap(n + 1);
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (int i = 0; i < stripe.size; i++) {
+                    long key = stripe.heap[i];
+                    if (merged.size() < n) {
+                        merged.push(key);
+                    } else if (key > merged.peek()) {
+                        merged.replaceTop(key);
+                    }
+                }
+            }
+        }
+        double[] result = new double[merged.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = IndexedDoubleHeap.fromSortableBits(merged.pop());
+        }
+        return result;
+    }
+
+    /**
+     * Removes all scores and resets the admission threshold. Offers running
+     * concurrently may survive the call.
+     */
+    public void clear() {
+        threshold.set(Long.MIN_VALUE);
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.size = 0;
+            }
+        }
+    }
+
+    private int stripeIndex() {
+        if (stripeShift == Integer.SIZE) {
+            return 0;
+        }
+        long id = Thread.currentThread().getId();
+        return (int) (id * 0x9E3779B97F4A7C15L >>> 32) >>> stripeShift;
+    }
+
+    private void raiseThreshold(long bound) {
+        long current = threshold.get();
+        while (bound > current && !threshold.compareAndSet(current, bound)) {
+            current = threshold.get();
+        }
+    }
+
+    /**
+     * Min-heap of the best keys seen by one stripe.
+     */
+    private static final class Stripe {
+        final long[] heap;
+        int size;
+
+        Stripe(int n) {
+            heap = new long[n];
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package ru.nsu.shadrina;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * External sort for binary files of big-endian ints that do not fit in memory.
+ *
+ * <p>The input is read through memory-mapped windows. Replacement selection with
+ * an int heap of the memory budget, less one write buffer, produces sorted runs
+ * that are on average twice as long as the heap; the runs are spilled to
+ * temporary files and k-way merged, in several passes if there are more runs
+ * than the budget can buffer at once.
+ */
+public final class ExternalHeapSort {
+    /**
+     * Smallest accepted memory budget in bytes.
+     */
+    public static final long MIN_MEMORY_BUDGET = 16 * 1024;
+
+    private static final long MAP_WINDOW = 64L * 1024 * 1024;
+    private static final int MIN_READ_BUFFER = 4 * 1024;
+    private static final int MAX_FAN_IN = 1024;
+
+    private ExternalHeapSort() {
+    }
+
+    /**
+     * Sorts the ints of {@code input} into {@code output}, spilling runs next to the output.
+     *
+     * @param input file of big-endian ints
+     * @param output file to create or overwrite with the sorted ints
+     * @param memoryBudgetBytes approximate heap memory the sort may use
+     * @throws IOException if reading, writing or spilling fails
+     */
+    public static void sort(Path input, Path output, long memoryBudgetBytes) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        sort(input, output, memoryBudgetBytes, parent);
+    }
+
+    /**
+     * Sorts the ints of {@code input} into {@code output}.
+     *
+     * @param input file of big-endian ints
+     * @param output file to create or overwrite with the sorted ints
+     * @param memoryBudgetBytes approximate heap memory the sort may use
+     * @param tempDir directory for the spilled runs
+     * @throws IOException if reading, writing or spilling fails
+     * @throws IllegalArgumentException if the budget is below {@link #MIN_MEMORY_BUDGET}
+     */
+    public static void sort(Path input, Path output, long memoryBudgetBytes, Path tempDir)
+            throws IOException {
+        if (memoryBudgetBytes < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("Memory budget too small: " + memoryBudgetBytes);
+        }
+        List<Path> spilled = new ArrayList<>();
+        try {
+            List<Path> runs = createRuns(input, memoryBudgetBytes, tempDir, spilled);
+            int fanIn = mergeFanIn(memoryBudgetBytes);
+            int bufferSize = mergeBufferSize(memoryBudgetBytes, fanIn);
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(runs.size(), i + fanIn));
+                    Path run = createTempRun(tempDir, spilled);
+                    merged.add(run);
+                    merge(group, run, bufferSize);
+                    for (Path p : group) {
+                        Files.delete(p);
+                    }
+                }
+                runs = merged;
+            }
+            if (runs.size() == 1) {
+                Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                merge(runs, output, bufferSize);
+            }
+        } finally {
+            for (Path run : spilled) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Returns how many runs one merge reads at once under the budget.
+     */
+    static int mergeFanIn(long budget) {
+        return (int) Math.max(2, Math.min(MAX_FAN_IN, budget / MIN_READ_BUFFER));
+    }
+
+    /**
+     * Returns the size in bytes of each merge buffer. A merge of {@code fanIn}
+     * runs holds {@code fanIn} read buffers, one write buffer and a batch array
+     * of the same size, so the budget is split {@code fanIn + 2} ways.
+     */
+    static int mergeBufferSize(long budget, int fanIn) {
+        return (int) Math.min(1 << 20, budget / (fanIn + 2)) & ~3;
+    }
+
+    private static Path createTempRun(Path tempDir, List<Path> spilled) throws IOException {
+        Path run = Files.createTempFile(tempDir, "heapsort-run", ".bin");
+        spilled.add(run);
+        return run;
+    }
+
+    /**
+     * Produces sorted runs with replacement selection. The heap is an int array
+     * of the budget less the write buffer: the current run's min-heap occupies
+     * its front, and values too small for the current run are parked behind it,
+     * so the heap shrinks as the next run's part grows. On random input runs
+     * average twice the heap, about twice the budget in bytes.
+     */
+    static List<Path> createRuns(Path input, long budget, Path tempDir,
+            List<Path> spilled) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        int writeBuffer = (int) Math.min(1 << 20, budget / 8) & ~3;
+        long capacity = Math.min(Integer.MAX_VALUE - 8, (budget - writeBuffer) / Integer.BYTES);
+        try (MappedIntReader in = new MappedIntReader(input)) {
+            int[] heap = new int[(int) Math.min(capacity, Math.max(1, in.remaining()))];
+            int held = 0;
+            while (held < heap.length && in.hasNext()) {
+                heap[held++] = in.next();
+            }
+            while (held > 0) {
+                for (int i = held / 2 - 1; i >= 0; i--) {
+                    IntHeap.siftDown(heap, held, i);
+                }
+                int active = held;
+                Path path = createTempRun(tempDir, spilled);
+                runs.add(path);
+                try (RunWriter out = new RunWriter(path, writeBuffer)) {
+                    while (active > 0) {
+                        int value = heap[0];
+                        out.write(value);
+                        if (!in.hasNext()) {
+                            heap[0] = heap[--active];
+                            heap[active] = heap[--held];
+                        } else {
+                            int next = in.next();
+                            if (next >= value) {
+                                heap[0] = next;
+                            } else {
+                                heap[0] = heap[--active];
+                                heap[active] = next;
+                            }
+                        }
+                        IntHeap.siftDown(heap, active, 0);
+                    }
+                }
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Merges sorted run files into {@code output} with a {@link KWayMerger} over
+     * buffered run readers.
+     */
+    private static void merge(List<Path> runs, Path output, int bufferSize) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        try (RunWriter out = new RunWriter(output, bufferSize)) {
+            for (int r = 0; r < k; r++) {
+                readers[r] = new RunReader(runs.get(r), bufferSize);
+            }
+            KWayMerger merger = new KWayMerger(readers);
+            int[] batch = new int[bufferSize / Integer.BYTES];
+            int n;
+            while ((n = merger.read(batch)) > 0) {
+                out.write(batch, n);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sequential reader over a file of ints mapped in fixed-size windows.
+     */
+    private static final class MappedIntReader implements Closeable {
+        private final FileChannel channel;
+        private final long size;
+        private long mapped;
+        private IntBuffer window = IntBuffer.allocate(0);
+
+        MappedIntReader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                channel.close();
+                throw new IOException("File length is not a multiple of 4: " + path);
+            }
+        }
+
+        long remaining() {
+            return (size - mapped) / Integer.BYTES + window.remaining();
+        }
+
+        boolean hasNext() throws IOException {
+            if (window.hasRemaining()) {
+                return true;
+            }
+            if (mapped == size) {
+                return false;
+            }
+            long length = Math.min(MAP_WINDOW, size - mapped);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length).asIntBuffer();
+            mapped += length;
+            return true;
+        }
+
+        int next() {
+            return window.get();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Buffered sequential reader of a run file.
+     */
+    private static final class RunReader implements IntSource, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunReader(Path path, int bufferSize) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocate(bufferSize);
+            buffer.flip();
+        }
+
+        @Override
+        public int read(int[] values) {
+            try {
+                if (buffer.remaining() < Integer.BYTES) {
+                    buffer.compact();
+                    while (buffer.position() < Integer.BYTES && channel.read(buffer) > 0) {
+                        // keep reading until a whole int is buffered or the file ends
+                    }
+                    buffer.flip();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int n = Math.min(values.length, buffer.remaining() / Integer.BYTES);
+            for (int i = 0; i < n; i++) {
+                values[i] = buffer.getInt();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Buffered sequential writer of ints.
+     */
+    private static final class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path path, int bufferSize) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = ByteBuffer.allocate(bufferSize);
+        }
+
+        void write(int value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void write(int[] values, int n) throws IOException {
+            for (int i = 0; i < n; i++) {
+                write(values[i]);
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
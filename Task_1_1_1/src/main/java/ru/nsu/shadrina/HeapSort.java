@@ -1,44 +1,1065 @@
 package ru.nsu.shadrina;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+
 /**
  * Sample class to simulate 1.1 task functionality
  */
 public class HeapSort {
-    private static void heapify(int[] arr, int n, int i) {
-        int largest = i;
-        int left = 2 * i + 1;
-        int right = 2 * i + 2;
+    /**
+     * Sift-down strategy used by the sort.
+     */
+    public enum Variant {
+        /**
+         * Classic Floyd sift-down: two comparisons per level.
+         */
+        CLASSIC,
+        /**
+         * Bottom-up heapsort: descends to a leaf along the larger children,
+         * then sifts the element up, roughly halving comparisons.
+         */
+        BOTTOM_UP,
+        /**
+         * 4-ary heap: half the depth of a binary heap, and a node's children
+         * share one or two cache lines.
+         */
+        FOUR_ARY,
+        /**
+         * 8-ary heap: a third of the depth of a binary heap, with child groups
+         * of 32 bytes.
+         */
+        EIGHT_ARY,
+        /**
+         * Bottom-up heapsort whose descent picks the larger child arithmetically,
+         * leaving no data-dependent branch on the way down to the leaf.
+         */
+        BRANCHLESS,
+        /**
+         * Picks {@link #CLASSIC} for inputs that fit in a typical L2 cache and
+         * {@link #FOUR_ARY} for larger ones.
+         */
+        AUTO
+    }
+
+    /**
+     * Largest input, in elements, that {@link Variant#AUTO} treats as cache-resident (256 KiB).
+     */
+    static final int CACHE_RESIDENT_ELEMENTS = 64 * 1024;
 
-        if (left < n && arr[left] > arr[largest]) {
-            largest = left;
+    /**
+     * Sifts the element at heap index {@code i} down the binary max-heap stored in
+     * {@code arr[from, from + n)}, moving a hole instead of swapping.
+     */
+    static void heapify(int[] arr, int from, int n, int i) {
+        int value = arr[from + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && arr[from + right] > arr[from + child]) {
+                child = right;
+            }
+            int childValue = arr[from + child];
+            if (value >= childValue) {
+                break;
+            }
+            arr[from + i] = childValue;
+            i = child;
         }
+        arr[from + i] = value;
+    }
 
-        if (right < n && arr[right] > arr[largest]) {
-            largest = right;
+    /**
+     * Places {@code value} into the hole at heap index {@code i}: the hole is first
+     * moved to a leaf along the larger children, then {@code value} is sifted up.
+     */
+    private static void heapifyBottomUp(int[] arr, int from, int n, int i, int value) {
+        int start = i;
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && arr[from + right] > arr[from + child]) {
+                child = right;
+            }
+            arr[from + i] = arr[from + child];
+            i = child;
+        }
+        while (i > start) {
+            int parent = (i - 1) >>> 1;
+            int parentValue = arr[from + parent];
+            if (parentValue >= value) {
+                break;
+            }
+            arr[from + i] = parentValue;
+            i = parent;
         }
+        arr[from + i] = value;
+    }
 
-        if (largest != i) {
-            int temp = arr[largest];
-            arr[largest] = arr[i];
-            arr[i] = temp;
-            heapify(arr, n, largest);
+    /**
+     * Same as {@link #heapifyBottomUp}, except that the larger child is selected
+     * with a sign-bit shift and {@link Math#max}, which the JIT compiles to
+     * conditional moves instead of an unpredictable branch.
+     */
+    private static void heapifyBranchless(int[] arr, int from, int n, int i, int value) {
+        int start = i;
+        int full = (n - 1) >>> 1;
+        while (i < full) {
+            int left = from + 2 * i + 1;
+            int leftValue = arr[left];
+            int rightValue = arr[left + 1];
+            int pick = (int) (((long) leftValue - rightValue) >>> 63);
+            arr[from + i] = Math.max(leftValue, rightValue);
+            i = 2 * i + 1 + pick;
+        }
+        if (2 * i + 1 == n - 1) {
+            arr[from + i] = arr[from + n - 1];
+            i = n - 1;
+        }
+        while (i > start) {
+            int parent = (i - 1) >>> 1;
+            int parentValue = arr[from + parent];
+            if (parentValue >= value) {
+                break;
+            }
+            arr[from + i] = parentValue;
+            i = parent;
         }
+        arr[from + i] = value;
     }
 
+    /**
+     * Sorts {@code arr[from, to)} in ascending order with the given variant.
+     */
+    static void sort(int[] arr, int from, int to, Variant variant) {
+        int n = to - from;
+        if (variant == Variant.AUTO) {
+            variant = n > CACHE_RESIDENT_ELEMENTS ? Variant.FOUR_ARY : Variant.CLASSIC;
+        }
+        switch (variant) {
+            case BOTTOM_UP:
+                for (int i = n / 2 - 1; i >= 0; i--) {
+                    heapifyBottomUp(arr, from, n, i, arr[from + i]);
+                }
+                for (int i = n - 1; i > 0; i--) {
+                    int value = arr[from + i];
+                    arr[from + i] = arr[from];
+                    heapifyBottomUp(arr, from, i, 0, value);
+                }
+                break;
+            case FOUR_ARY:
+                sortDary(arr, from, n, 4);
+                break;
+            case EIGHT_ARY:
+                sortDary(arr, from, n, 8);
+                break;
+            case BRANCHLESS:
+                for (int i = n / 2 - 1; i >= 0; i--) {
+                    heapifyBranchless(arr, from, n, i, arr[from + i]);
+                }
+                for (int i = n - 1; i > 0; i--) {
+                    int value = arr[from + i];
+                    arr[from + i] = arr[from];
+                    heapifyBranchless(arr, from, i, 0, value);
+                }
+                break;
+            default:
+                for (int i = n / 2 - 1; i >= 0; i--) {
+                    heapify(arr, from, n, i);
+                }
+                sortDown(arr, from, n);
+                break;
+        }
+    }
+
+    /**
+     * Sorts {@code arr[from, from + n)} with a {@code d}-ary max-heap, in which the
+     * children of node {@code i} are {@code d * i + 1 .. d * i + d}.
+     */
+    private static void sortDary(int[] arr, int from, int n, int d) {
+        int parents = (int) (((long) n + d - 2) / d);
+        for (int i = parents - 1; i >= 0; i--) {
+            heapifyDary(arr, from, n, i, d);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int temp = arr[from];
+            arr[from] = arr[from + i];
+            arr[from + i] = temp;
+
+            heapifyDary(arr, from, i, 0, d);
+        }
+    }
+
+    /**
+     * Sifts the element at heap index {@code i} down the {@code d}-ary max-heap
+     * {@code arr[from, from + n)}, scanning each group of children for the largest.
+     */
+    private static void heapifyDary(int[] arr, int from, int n, int i, int d) {
+        int value = arr[from + i];
+        int parents = (int) (((long) n + d - 2) / d);
+        while (i < parents) {
+            int first = d * i + 1;
+            int last = Math.min(first + d, n);
+            int child = first;
+            int childValue = arr[from + first];
+            for (int c = first + 1; c < last; c++) {
+                int candidate = arr[from + c];
+                if (candidate > childValue) {
+                    child = c;
+                    childValue = candidate;
+                }
+            }
+            if (value >= childValue) {
+                break;
+            }
+            arr[from + i] = childValue;
+            i = child;
+        }
+        arr[from + i] = value;
+    }
+
+    /**
+     * Turns the max-heap {@code arr[from, from + n)} into an ascending run.
+     */
+    private static void sortDown(int[] arr, int from, int n) {
+        for (int i = n - 1; i > 0; i--) {
+            int temp = arr[from];
+            arr[from] = arr[from + i];
+            arr[from + i] = temp;
+
+            heapify(arr, from, i, 0);
+        }
+    }
+
+    /**
+     * Sorts the array in ascending order using the classic variant.
+     *
+     * @param arr array to sort
+     */
     public static void heapsort(int[] arr) {
-        int n = arr.length;
+        heapsort(arr, Variant.CLASSIC);
+    }
+
+    /**
+     * Sorts the array in ascending order using the given sift-down variant.
+     *
+     * @param arr array to sort
+     * @param variant sift-down strategy
+     */
+    public static void heapsort(int[] arr, Variant variant) {
+        sort(arr, 0, arr.length, variant);
+    }
+
+    /**
+     * Sorts the array like {@link #heapsort(int[], Variant)} while counting
+     * comparisons, moves, the deepest sift and the time of the build-heap and
+     * extraction phases into {@code stats}. Each call also commits a
+     * {@code ru.nsu.shadrina.HeapSort} Flight Recorder event when a recording
+     * enables it. The uninstrumented overloads run separate code and pay nothing.
+     *
+     * @param arr array to sort
+     * @param variant sift-down strategy
+     * @param stats counters to add to
+     */
+    public static void heapsort(int[] arr, Variant variant, SortStats stats) {
+        Objects.requireNonNull(stats, "stats");
+        InstrumentedHeapSort.sort(arr, 0, arr.length, variant, stats);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order using the classic variant.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void heapsort(int[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        sort(arr, fromIndex, toIndex, Variant.CLASSIC);
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param arr array to sort
+     */
+    public static void heapsort(long[] arr) {
+        heapsort(arr, 0, arr.length);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void heapsort(long[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(arr, fromIndex, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            long temp = arr[fromIndex];
+            arr[fromIndex] = arr[fromIndex + i];
+            arr[fromIndex + i] = temp;
+
+            heapify(arr, fromIndex, i, 0);
+        }
+    }
+
+    private static void heapify(long[] arr, int from, int n, int i) {
+        long value = arr[from + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && arr[from + right] > arr[from + child]) {
+                child = right;
+            }
+            long childValue = arr[from + child];
+            if (value >= childValue) {
+                break;
+            }
+            arr[from + i] = childValue;
+            i = child;
+        }
+        arr[from + i] = value;
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param arr array to sort
+     */
+    public static void heapsort(short[] arr) {
+        heapsort(arr, 0, arr.length);
+    }
 
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void heapsort(short[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
         for (int i = n / 2 - 1; i >= 0; i--) {
-            heapify(arr, n, i);
+            heapify(arr, fromIndex, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            short temp = arr[fromIndex];
+            arr[fromIndex] = arr[fromIndex + i];
+            arr[fromIndex + i] = temp;
+
+            heapify(arr, fromIndex, i, 0);
+        }
+    }
+
+    private static void heapify(short[] arr, int from, int n, int i) {
+        short value = arr[from + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && arr[from + right] > arr[from + child]) {
+                child = right;
+            }
+            short childValue = arr[from + child];
+            if (value >= childValue) {
+                break;
+            }
+            arr[from + i] = childValue;
+            i = child;
         }
+        arr[from + i] = value;
+    }
 
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param arr array to sort
+     */
+    public static void heapsort(char[] arr) {
+        heapsort(arr, 0, arr.length);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void heapsort(char[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(arr, fromIndex, n, i);
+        }
         for (int i = n - 1; i > 0; i--) {
-            int temp = arr[0];
+            char temp = arr[fromIndex];
+            arr[fromIndex] = arr[fromIndex + i];
+            arr[fromIndex + i] = temp;
+
+            heapify(arr, fromIndex, i, 0);
+        }
+    }
+
+    private static void heapify(char[] arr, int from, int n, int i) {
+        char value = arr[from + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && arr[from + right] > arr[from + child]) {
+                child = right;
+            }
+            char childValue = arr[from + child];
+            if (value >= childValue) {
+                break;
+            }
+            arr[from + i] = childValue;
+            i = child;
+        }
+        arr[from + i] = value;
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param arr array to sort
+     */
+    public static void heapsort(byte[] arr) {
+        heapsort(arr, 0, arr.length);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void heapsort(byte[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(arr, fromIndex, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            byte temp = arr[fromIndex];
+            arr[fromIndex] = arr[fromIndex + i];
+            arr[fromIndex + i] = temp;
+
+            heapify(arr, fromIndex, i, 0);
+        }
+    }
+
+    private static void heapify(byte[] arr, int from, int n, int i) {
+        byte value = arr[from + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && arr[from + right] > arr[from + child]) {
+                child = right;
+            }
+            byte childValue = arr[from + child];
+            if (value >= childValue) {
+                break;
+            }
+            arr[from + i] = childValue;
+            i = child;
+        }
+        arr[from + i] = value;
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * <p>Values are ordered as by {@link Double#compare}: {@code -0.0} precedes
+     * {@code 0.0} and NaN is placed last.
+     *
+     * @param arr array to sort
+     */
+    public static void heapsort(double[] arr) {
+        heapsort(arr, 0, arr.length);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * <p>Values are ordered as by {@link Double#compare}: {@code -0.0} precedes
+     * {@code 0.0} and NaN is placed last.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void heapsort(double[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(arr, fromIndex, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            double temp = arr[fromIndex];
+            arr[fromIndex] = arr[fromIndex + i];
+            arr[fromIndex + i] = temp;
+
+            heapify(arr, fromIndex, i, 0);
+        }
+    }
+
+    private static void heapify(double[] arr, int from, int n, int i) {
+        double value = arr[from + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && Double.compare(arr[from + right], arr[from + child]) > 0) {
+                child = right;
+            }
+            double childValue = arr[from + child];
+            if (Double.compare(value, childValue) >= 0) {
+                break;
+            }
+            arr[from + i] = childValue;
+            i = child;
+        }
+        arr[from + i] = value;
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * <p>Values are ordered as by {@link Float#compare}: {@code -0.0} precedes
+     * {@code 0.0} and NaN is placed last.
+     *
+     * @param arr array to sort
+     */
+    public static void heapsort(float[] arr) {
+        heapsort(arr, 0, arr.length);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * <p>Values are ordered as by {@link Float#compare}: {@code -0.0} precedes
+     * {@code 0.0} and NaN is placed last.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void heapsort(float[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(arr, fromIndex, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            float temp = arr[fromIndex];
+            arr[fromIndex] = arr[fromIndex + i];
+            arr[fromIndex + i] = temp;
+
+            heapify(arr, fromIndex, i, 0);
+        }
+    }
+
+    private static void heapify(float[] arr, int from, int n, int i) {
+        float value = arr[from + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && Float.compare(arr[from + right], arr[from + child]) > 0) {
+                child = right;
+            }
+            float childValue = arr[from + child];
+            if (Float.compare(value, childValue) >= 0) {
+                break;
+            }
+            arr[from + i] = childValue;
+            i = child;
+        }
+        arr[from + i] = value;
+    }
+
+    /**
+     * Sorts the array according to the comparator. The sort is not stable.
+     *
+     * @param arr array to sort
+     * @param comparator ordering of the elements
+     * @param <T> element type
+     */
+    public static <T> void heapsort(T[] arr, Comparator<? super T> comparator) {
+        int n = arr.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(arr, n, i, comparator);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            T temp = arr[0];
             arr[0] = arr[i];
             arr[i] = temp;
 
-            heapify(arr, i, 0);
+            heapify(arr, i, 0, comparator);
         }
     }
-}
 
+    private static <T> void heapify(T[] arr, int n, int i, Comparator<? super T> comparator) {
+        T value = arr[i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && comparator.compare(arr[right], arr[child]) > 0) {
+                child = right;
+            }
+            T childValue = arr[child];
+            if (comparator.compare(value, childValue) >= 0) {
+                break;
+            }
+            arr[i] = childValue;
+            i = child;
+        }
+        arr[i] = value;
+    }
+
+    /**
+     * Sorts the array by an int key in ascending order. Every key is extracted once
+     * into a primitive array that is sorted together with the elements, so no
+     * comparator is called while sifting. The sort is not stable.
+     *
+     * @param arr array to sort
+     * @param keyExtractor function computing the sort key of an element
+     * @param <T> element type
+     */
+    public static <T> void heapsortByIntKey(T[] arr, ToIntFunction<? super T> keyExtractor) {
+        int n = arr.length;
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = keyExtractor.applyAsInt(arr[i]);
+        }
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(keys, arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int tempKey = keys[0];
+            keys[0] = keys[i];
+            keys[i] = tempKey;
+            T temp = arr[0];
+            arr[0] = arr[i];
+            arr[i] = temp;
+
+            heapify(keys, arr, i, 0);
+        }
+    }
+
+    /**
+     * Sifts down by {@code keys}, applying every move to {@code items} as well.
+     */
+    private static <T> void heapify(int[] keys, T[] items, int n, int i) {
+        int key = keys[i];
+        T item = items[i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && keys[right] > keys[child]) {
+                child = right;
+            }
+            int childKey = keys[child];
+            if (key >= childKey) {
+                break;
+            }
+            keys[i] = childKey;
+            items[i] = items[child];
+            i = child;
+        }
+        keys[i] = key;
+        items[i] = item;
+    }
+
+    /**
+     * Returns the permutation that sorts {@code keys}: {@code keys[perm[0]]} is the
+     * smallest key, and equal keys keep their original order. The keys are not modified.
+     *
+     * @param keys sort keys
+     * @return indices of the keys in ascending key order
+     */
+    public static int[] argsort(int[] keys) {
+        int n = keys.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) keys[i] << 32) | i;
+        }
+        heapsort(packed);
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) {
+            perm[i] = (int) packed[i];
+        }
+        return perm;
+    }
+
+    /**
+     * Reorders {@code column} in place so that {@code column[i]} becomes the
+     * element previously at {@code perm[i]}, following the cycles of the
+     * permutation. {@code perm} is temporarily modified and restored on return.
+     *
+     * @param perm permutation of {@code 0 .. column.length - 1}, e.g. from {@link #argsort}
+     * @param column values to reorder
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void applyPermutation(int[] perm, int[] column) {
+        checkPermutationLength(perm, column.length);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) {
+                continue;
+            }
+            int first = column[i];
+            int j = i;
+            while (true) {
+                int k = perm[j];
+                perm[j] = ~k;
+                if (k == i) {
+                    column[j] = first;
+                    break;
+                }
+                column[j] = column[k];
+                j = k;
+            }
+        }
+        unmark(perm);
+    }
+
+    /**
+     * Reorders {@code column} in place so that {@code column[i]} becomes the
+     * element previously at {@code perm[i]}, following the cycles of the
+     * permutation. {@code perm} is temporarily modified and restored on return.
+     *
+     * @param perm permutation of {@code 0 .. column.length - 1}, e.g. from {@link #argsort}
+     * @param column values to reorder
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void applyPermutation(int[] perm, long[] column) {
+        checkPermutationLength(perm, column.length);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) {
+                continue;
+            }
+            long first = column[i];
+            int j = i;
+            while (true) {
+                int k = perm[j];
+                perm[j] = ~k;
+                if (k == i) {
+                    column[j] = first;
+                    break;
+                }
+                column[j] = column[k];
+                j = k;
+            }
+        }
+        unmark(perm);
+    }
+
+    /**
+     * Reorders {@code column} in place so that {@code column[i]} becomes the
+     * element previously at {@code perm[i]}, following the cycles of the
+     * permutation. {@code perm} is temporarily modified and restored on return.
+     *
+     * @param perm permutation of {@code 0 .. column.length - 1}, e.g. from {@link #argsort}
+     * @param column values to reorder
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void applyPermutation(int[] perm, double[] column) {
+        checkPermutationLength(perm, column.length);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) {
+                continue;
+            }
+            double first = column[i];
+            int j = i;
+            while (true) {
+                int k = perm[j];
+                perm[j] = ~k;
+                if (k == i) {
+                    column[j] = first;
+                    break;
+                }
+                column[j] = column[k];
+                j = k;
+            }
+        }
+        unmark(perm);
+    }
+
+    /**
+     * Reorders {@code column} in place so that {@code column[i]} becomes the
+     * element previously at {@code perm[i]}, following the cycles of the
+     * permutation. {@code perm} is temporarily modified and restored on return.
+     *
+     * @param perm permutation of {@code 0 .. column.length - 1}, e.g. from {@link #argsort}
+     * @param column values to reorder
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void applyPermutation(int[] perm, float[] column) {
+        checkPermutationLength(perm, column.length);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) {
+                continue;
+            }
+            float first = column[i];
+            int j = i;
+            while (true) {
+                int k = perm[j];
+                perm[j] = ~k;
+                if (k == i) {
+                    column[j] = first;
+                    break;
+                }
+                column[j] = column[k];
+                j = k;
+            }
+        }
+        unmark(perm);
+    }
+
+    /**
+     * Reorders {@code column} in place so that {@code column[i]} becomes the
+     * element previously at {@code perm[i]}, following the cycles of the
+     * permutation. {@code perm} is temporarily modified and restored on return.
+     *
+     * @param perm permutation of {@code 0 .. column.length - 1}, e.g. from {@link #argsort}
+     * @param column values to reorder
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void applyPermutation(int[] perm, short[] column) {
+        checkPermutationLength(perm, column.length);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) {
+                continue;
+            }
+            short first = column[i];
+            int j = i;
+            while (true) {
+                int k = perm[j];
+                perm[j] = ~k;
+                if (k == i) {
+                    column[j] = first;
+                    break;
+                }
+                column[j] = column[k];
+                j = k;
+            }
+        }
+        unmark(perm);
+    }
+
+    /**
+     * Reorders {@code column} in place so that {@code column[i]} becomes the
+     * element previously at {@code perm[i]}, following the cycles of the
+     * permutation. {@code perm} is temporarily modified and restored on return.
+     *
+     * @param perm permutation of {@code 0 .. column.length - 1}, e.g. from {@link #argsort}
+     * @param column values to reorder
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void applyPermutation(int[] perm, char[] column) {
+        checkPermutationLength(perm, column.length);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) {
+                continue;
+            }
+            char first = column[i];
+            int j = i;
+            while (true) {
+                int k = perm[j];
+                perm[j] = ~k;
+                if (k == i) {
+                    column[j] = first;
+                    break;
+                }
+                column[j] = column[k];
+                j = k;
+            }
+        }
+        unmark(perm);
+    }
+
+    /**
+     * Reorders {@code column} in place so that {@code column[i]} becomes the
+     * element previously at {@code perm[i]}, following the cycles of the
+     * permutation. {@code perm} is temporarily modified and restored on return.
+     *
+     * @param perm permutation of {@code 0 .. column.length - 1}, e.g. from {@link #argsort}
+     * @param column values to reorder
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void applyPermutation(int[] perm, byte[] column) {
+        checkPermutationLength(perm, column.length);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) {
+                continue;
+            }
+            byte first = column[i];
+            int j = i;
+            while (true) {
+                int k = perm[j];
+                perm[j] = ~k;
+                if (k == i) {
+                    column[j] = first;
+                    break;
+                }
+                column[j] = column[k];
+                j = k;
+            }
+        }
+        unmark(perm);
+    }
+
+    private static void checkPermutationLength(int[] perm, int length) {
+        if (perm.length != length) {
+            throw new IllegalArgumentException("Permutation length " + perm.length
+                    + " does not match column length " + length);
+        }
+    }
+
+    /**
+     * Restores permutation entries complemented as visited.
+     */
+    private static void unmark(int[] perm) {
+        for (int i = 0; i < perm.length; i++) {
+            perm[i] = ~perm[i];
+        }
+    }
+
+    /**
+     * Sorts the array in ascending order on the given pool: chunks are heap-sorted
+     * in parallel and the sorted runs are k-way merged in parallel. Inputs
+     * too small to give every worker at least 64K elements are sorted in place on
+     * the calling thread.
+     *
+     * @param arr array to sort
+     * @param pool pool that runs the sort and merge tasks
+     */
+    public static void parallelHeapsort(int[] arr, ForkJoinPool pool) {
+        ParallelHeapSort.sort(arr, pool);
+    }
+
+    /**
+     * Rearranges the array so that {@code arr[0, k)} holds its {@code k} smallest
+     * elements in ascending order; the order of the rest is unspecified. Runs in
+     * O(n log k) with a bounded max-heap kept in the prefix.
+     *
+     * @param arr array to rearrange
+     * @param k number of leading slots to sort
+     * @throws IllegalArgumentException if {@code k} is negative or exceeds the length
+     */
+    public static void partialSort(int[] arr, int k) {
+        if (k < 0 || k > arr.length) {
+            throw new IllegalArgumentException("k out of range: " + k);
+        }
+        if (k == 0) {
+            return;
+        }
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            heapify(arr, 0, k, i);
+        }
+        for (int i = k; i < arr.length; i++) {
+            if (arr[i] < arr[0]) {
+                int temp = arr[0];
+                arr[0] = arr[i];
+                arr[i] = temp;
+                heapify(arr, 0, k, 0);
+            }
+        }
+        sortDown(arr, 0, k);
+    }
+
+    /**
+     * Returns the {@code k} smallest elements in ascending order without
+     * modifying the input. If {@code k} exceeds the length, all elements are returned.
+     *
+     * @param arr source array
+     * @param k number of elements to select
+     * @return new array with the selected elements
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public static int[] smallestK(int[] arr, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        k = Math.min(k, arr.length);
+        int[] heap = Arrays.copyOf(arr, k);
+        if (k == 0) {
+            return heap;
+        }
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            heapify(heap, 0, k, i);
+        }
+        for (int i = k; i < arr.length; i++) {
+            if (arr[i] < heap[0]) {
+                heap[0] = arr[i];
+                heapify(heap, 0, k, 0);
+            }
+        }
+        sortDown(heap, 0, k);
+        return heap;
+    }
+
+    /**
+     * Returns the {@code k} largest elements in descending order without
+     * modifying the input. If {@code k} exceeds the length, all elements are returned.
+     *
+     * @param arr source array
+     * @param k number of elements to select
+     * @return new array with the selected elements
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public static int[] topK(int[] arr, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        k = Math.min(k, arr.length);
+        int[] heap = Arrays.copyOf(arr, k);
+        if (k == 0) {
+            return heap;
+        }
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            IntHeap.siftDown(heap, k, i);
+        }
+        for (int i = k; i < arr.length; i++) {
+            if (arr[i] > heap[0]) {
+                heap[0] = arr[i];
+                IntHeap.siftDown(heap, k, 0);
+            }
+        }
+        for (int i = k - 1; i > 0; i--) {
+            int temp = heap[0];
+            heap[0] = heap[i];
+            heap[i] = temp;
+
+            IntHeap.siftDown(heap, i, 0);
+        }
+        return heap;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.nsu.shadrina;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event committed by every instrumented heap sort. Disabled
+ * unless a recording enables {@code ru.nsu.shadrina.HeapSort}.
+ */
+@Name("ru.nsu.shadrina.HeapSort")
+@Label("Heap Sort")
+@Category("Sorting")
+@Description("Instrumented heap sort of an int array")
+final class HeapSortEvent extends Event {
+    @Label("Variant")
+    String variant;
+
+    @Label("Length")
+    int length;
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Moves")
+    long moves;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    @Label("Build Heap Time")
+    @Timespan
+    long buildHeapNanos;
+
+    @Label("Extraction Time")
+    @Timespan
+    long extractionNanos;
+}
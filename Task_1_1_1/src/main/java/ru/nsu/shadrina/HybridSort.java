@@ -0,0 +1,196 @@
+package ru.nsu.shadrina;
+
+import java.util.Objects;
+
+/**
+ * Adaptive sort for int arrays with an O(n log n) worst case.
+ *
+ * <p>One pass first looks for presorted runs, reversing descending ones. Input
+ * made of a few long runs is finished by merging them with {@link KWayMerger}.
+ * Large ranges are then handed to {@link RadixSort}, which beats comparison
+ * sorts there at the cost of a scratch copy. Everything else goes to an
+ * introsort: quicksort with median-of-three pivots, insertion sort for short
+ * ranges and {@link HeapSort} once the recursion depth exceeds {@code 2 log n}.
+ */
+public final class HybridSort {
+    /**
+     * Ranges up to this length are finished with insertion sort.
+     */
+    static final int INSERTION_THRESHOLD = 24;
+
+    /**
+     * Run detection gives up once more runs than this have been found.
+     */
+    static final int MAX_RUNS = 64;
+
+    /**
+     * Ranges of at least this length are radix sorted.
+     */
+    static final int RADIX_THRESHOLD = 1 << 17;
+
+    private HybridSort() {
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param arr array to sort
+     */
+    public static void sort(int[] arr) {
+        sort(arr, 0, arr.length);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void sort(int[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
+        if (n <= INSERTION_THRESHOLD) {
+            insertionSort(arr, fromIndex, toIndex);
+            return;
+        }
+        if (mergeRuns(arr, fromIndex, toIndex)) {
+            return;
+        }
+        if (n >= RADIX_THRESHOLD) {
+            RadixSort.sort(arr, fromIndex, toIndex);
+            return;
+        }
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        introSort(arr, fromIndex, toIndex, depthLimit);
+    }
+
+    /**
+     * Scans {@code arr[from, to)} for ascending and strictly descending runs,
+     * reversing the latter. If at most {@link #MAX_RUNS} runs are found they are
+     * merged and the range is sorted.
+     *
+     * @return true if the range is now sorted
+     */
+    private static boolean mergeRuns(int[] arr, int from, int to) {
+        int[] starts = new int[MAX_RUNS];
+        int[] ends = new int[MAX_RUNS];
+        int runs = 0;
+        int start = from;
+        while (start < to) {
+            if (runs == MAX_RUNS) {
+                return false;
+            }
+            int end = start + 1;
+            if (end < to && arr[start] > arr[end]) {
+                while (end < to && arr[end - 1] > arr[end]) {
+                    end++;
+                }
+                reverse(arr, start, end);
+            } else {
+                while (end < to && arr[end - 1] <= arr[end]) {
+                    end++;
+                }
+            }
+            starts[runs] = start;
+            ends[runs] = end;
+            runs++;
+            start = end;
+        }
+        if (runs == 1) {
+            return true;
+        }
+
+        int n = to - from;
+        int[] tmp = new int[n];
+        System.arraycopy(arr, from, tmp, 0, n);
+        int[] tmpStarts = new int[runs];
+        int[] tmpEnds = new int[runs];
+        for (int r = 0; r < runs; r++) {
+            tmpStarts[r] = starts[r] - from;
+            tmpEnds[r] = ends[r] - from;
+        }
+        KWayMerger.merge(tmp, tmpStarts, tmpEnds, arr, from);
+        return true;
+    }
+
+    private static void introSort(int[] arr, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth == 0) {
+                HeapSort.sort(arr, lo, hi, HeapSort.Variant.CLASSIC);
+                return;
+            }
+            depth--;
+            int p = partition(arr, lo, hi);
+            if (p - lo < hi - p) {
+                introSort(arr, lo, p, depth);
+                lo = p;
+            } else {
+                introSort(arr, p, hi, depth);
+                hi = p;
+            }
+        }
+        insertionSort(arr, lo, hi);
+    }
+
+    /**
+     * Hoare partition of {@code arr[lo, hi)} around the median of the first, middle
+     * and last elements.
+     *
+     * @return split point {@code p}: {@code arr[lo, p)} is not greater than the
+     *     pivot, {@code arr[p, hi)} is not less, and both parts are non-empty
+     */
+    private static int partition(int[] arr, int lo, int hi) {
+        int mid = (lo + hi - 1) >>> 1;
+        int last = hi - 1;
+        if (arr[mid] < arr[lo]) {
+            swap(arr, mid, lo);
+        }
+        if (arr[last] < arr[mid]) {
+            swap(arr, last, mid);
+            if (arr[mid] < arr[lo]) {
+                swap(arr, mid, lo);
+            }
+        }
+        int pivot = arr[mid];
+        int i = lo - 1;
+        int j = hi;
+        while (true) {
+            do {
+                i++;
+            } while (arr[i] < pivot);
+            do {
+                j--;
+            } while (arr[j] > pivot);
+            if (i >= j) {
+                return j + 1;
+            }
+            swap(arr, i, j);
+        }
+    }
+
+    private static void insertionSort(int[] arr, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int value = arr[i];
+            int j = i - 1;
+            while (j >= from && arr[j] > value) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = value;
+        }
+    }
+
+    private static void reverse(int[] arr, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swap(arr, i, j);
+        }
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
@@ -0,0 +1,158 @@
+package ru.nsu.shadrina;
+
+import java.util.NoSuchElementException;
+
+/**
+ * {@link IndexedLongHeap} with double priorities. Priorities are stored as longs
+ * whose signed order matches {@link Double#compare}, so {@code -0.0} comes before
+ * {@code 0.0} and NaN comes last.
+ */
+public class IndexedDoubleHeap {
+    private final IndexedLongHeap heap;
+
+    /**
+     * Creates an empty heap with room for ids below {@code idCapacity}.
+     *
+     * @param idCapacity number of ids stored before the first resize
+     * @throws IllegalArgumentException if {@code idCapacity} is negative
+     */
+    public IndexedDoubleHeap(int idCapacity) {
+        heap = new IndexedLongHeap(idCapacity);
+    }
+
+    /**
+     * Maps a double to a long with the same order as {@link Double#compare}.
+     */
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Inverse of {@link #sortableBits}.
+     */
+    static double fromSortableBits(long bits) {
+        return Double.longBitsToDouble(bits ^ ((bits >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Adds an id with the given priority.
+     *
+     * @param id id to add
+     * @param priority its priority, smaller comes first
+     * @throws IllegalArgumentException if the id is negative or already queued
+     */
+    public void push(int id, double priority) {
+        heap.push(id, sortableBits(priority));
+    }
+
+    /**
+     * Checks whether the id is queued.
+     *
+     * @param id id to look up
+     * @return true if the id is in the heap
+     */
+    public boolean contains(int id) {
+        return heap.contains(id);
+    }
+
+    /**
+     * Returns the priority of a queued id.
+     *
+     * @param id queued id
+     * @return its priority
+     * @throws NoSuchElementException if the id is not queued
+     */
+    public double priority(int id) {
+        return fromSortableBits(heap.priority(id));
+    }
+
+    /**
+     * Returns the id with the smallest priority without removing it.
+     *
+     * @return id at the top
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peekId() {
+        return heap.peekId();
+    }
+
+    /**
+     * Returns the smallest priority without removing it.
+     *
+     * @return priority at the top
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double peekPriority() {
+        return fromSortableBits(heap.peekPriority());
+    }
+
+    /**
+     * Removes and returns the id with the smallest priority.
+     *
+     * @return removed id
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int pop() {
+        return heap.pop();
+    }
+
+    /**
+     * Lowers the priority of a queued id.
+     *
+     * @param id queued id
+     * @param priority new priority, not greater than the current one
+     * @throws NoSuchElementException if the id is not queued
+     * @throws IllegalArgumentException if the priority would increase
+     */
+    public void decreaseKey(int id, double priority) {
+        heap.decreaseKey(id, sortableBits(priority));
+    }
+
+    /**
+     * Raises the priority of a queued id.
+     *
+     * @param id queued id
+     * @param priority new priority, not less than the current one
+     * @throws NoSuchElementException if the id is not queued
+     * @throws IllegalArgumentException if the priority would decrease
+     */
+    public void increaseKey(int id, double priority) {
+        heap.increaseKey(id, sortableBits(priority));
+    }
+
+    /**
+     * Removes an id from the heap.
+     *
+     * @param id id to remove
+     * @return true if the id was queued
+     */
+    public boolean remove(int id) {
+        return heap.remove(id);
+    }
+
+    /**
+     * Returns the number of queued ids.
+     *
+     * @return number of ids
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return true if no id is queued
+     */
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Removes all ids, keeping the allocated storage.
+     */
+    public void clear() {
+        heap.clear();
+    }
+}
@@ -0,0 +1,263 @@
+package ru.nsu.shadrina;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of int ids ordered by long priorities, with a position map from
+ * id to heap slot so that the priority of a queued id can be changed or the id
+ * removed in O(log n). Ids are non-negative; storage grows to the largest id seen.
+ */
+public class IndexedLongHeap {
+    private static final int ABSENT = -1;
+
+    private int[] heap;
+    private int[] positions;
+    private long[] priorities;
+    private int size;
+
+    /**
+     * Creates an empty heap with room for ids below {@code idCapacity}.
+     *
+     * @param idCapacity number of ids stored before the first resize
+     * @throws IllegalArgumentException if {@code idCapacity} is negative
+     */
+    public IndexedLongHeap(int idCapacity) {
+        if (idCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + idCapacity);
+        }
+        heap = new int[idCapacity];
+        positions = new int[idCapacity];
+        priorities = new long[idCapacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Adds an id with the given priority.
+     *
+     * @param id id to add
+     * @param priority its priority, smaller comes first
+     * @throws IllegalArgumentException if the id is negative or already queued
+     */
+    public void push(int id, long priority) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative id: " + id);
+        }
+        if (id >= positions.length) {
+            grow(id);
+        }
+        if (positions[id] != ABSENT) {
+            throw new IllegalArgumentException("Id already queued: " + id);
+        }
+        priorities[id] = priority;
+        siftUp(size++, id);
+    }
+
+    /**
+     * Checks whether the id is queued.
+     *
+     * @param id id to look up
+     * @return true if the id is in the heap
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < positions.length && positions[id] != ABSENT;
+    }
+
+    /**
+     * Returns the priority of a queued id.
+     *
+     * @param id queued id
+     * @return its priority
+     * @throws NoSuchElementException if the id is not queued
+     */
+    public long priority(int id) {
+        checkQueued(id);
+        return priorities[id];
+    }
+
+    /**
+     * Returns the id with the smallest priority without removing it.
+     *
+     * @return id at the top
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peekId() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns the smallest priority without removing it.
+     *
+     * @return priority at the top
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long peekPriority() {
+        return priorities[peekId()];
+    }
+
+    /**
+     * Removes and returns the id with the smallest priority.
+     *
+     * @return removed id
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int pop() {
+        int id = peekId();
+        removeAt(0);
+        return id;
+    }
+
+    /**
+     * Lowers the priority of a queued id.
+     *
+     * @param id queued id
+     * @param priority new priority, not greater than the current one
+     * @throws NoSuchElementException if the id is not queued
+     * @throws IllegalArgumentException if the priority would increase
+     */
+    public void decreaseKey(int id, long priority) {
+        checkQueued(id);
+        if (priority > priorities[id]) {
+            throw new IllegalArgumentException("Priority would increase for id " + id);
+        }
+        priorities[id] = priority;
+        siftUp(positions[id], id);
+    }
+
+    /**
+     * Raises the priority of a queued id.
+     *
+     * @param id queued id
+     * @param priority new priority, not less than the current one
+     * @throws NoSuchElementException if the id is not queued
+     * @throws IllegalArgumentException if the priority would decrease
+     */
+    public void increaseKey(int id, long priority) {
+        checkQueued(id);
+        if (priority < priorities[id]) {
+            throw new IllegalArgumentException("Priority would decrease for id " + id);
+        }
+        priorities[id] = priority;
+        siftDown(positions[id], id);
+    }
+
+    /**
+     * Removes an id from the heap.
+     *
+     * @param id id to remove
+     * @return true if the id was queued
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        removeAt(positions[id]);
+        return true;
+    }
+
+    /**
+     * Returns the number of queued ids.
+     *
+     * @return number of ids
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return true if no id is queued
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all ids in O(size), keeping the allocated storage.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void checkQueued(int id) {
+        if (!contains(id)) {
+            throw new NoSuchElementException("Id not queued: " + id);
+        }
+    }
+
+    private void removeAt(int i) {
+        int removed = heap[i];
+        positions[removed] = ABSENT;
+        int last = heap[--size];
+        if (i == size) {
+            return;
+        }
+        if (i > 0 && priorities[last] < priorities[heap[(i - 1) >>> 1]]) {
+            siftUp(i, last);
+        } else {
+            siftDown(i, last);
+        }
+    }
+
+    private void grow(int id) {
+        int capacity = Math.max(id + 1, positions.length + (positions.length >> 1));
+        if (capacity < 0) {
+            capacity = Integer.MAX_VALUE;
+        }
+        int oldCapacity = positions.length;
+        heap = Arrays.copyOf(heap, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldCapacity, capacity, ABSENT);
+    }
+
+    /**
+     * Places {@code id} into the hole at slot {@code i} and sifts it up.
+     */
+    private void siftUp(int i, int id) {
+        long priority = priorities[id];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentId = heap[parent];
+            if (priorities[parentId] <= priority) {
+                break;
+            }
+            heap[i] = parentId;
+            positions[parentId] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        positions[id] = i;
+    }
+
+    /**
+     * Places {@code id} into the hole at slot {@code i} and sifts it down.
+     */
+    private void siftDown(int i, int id) {
+        long priority = priorities[id];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && priorities[heap[right]] < priorities[heap[child]]) {
+                child = right;
+            }
+            int childId = heap[child];
+            if (priority <= priorities[childId]) {
+                break;
+            }
+            heap[i] = childId;
+            positions[childId] = i;
+            i = child;
+        }
+        heap[i] = id;
+        positions[id] = i;
+    }
+}
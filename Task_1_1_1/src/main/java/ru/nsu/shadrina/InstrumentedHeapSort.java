@@ -0,0 +1,146 @@
+package ru.nsu.shadrina;
+
+/**
+ * Counting copy of the heap sort variants, kept apart from {@link HeapSort} so
+ * the uninstrumented code carries no counters. {@link HeapSort.Variant#CLASSIC},
+ * {@link HeapSort.Variant#FOUR_ARY} and {@link HeapSort.Variant#EIGHT_ARY} share
+ * a {@code d}-ary sift-down; {@link HeapSort.Variant#BOTTOM_UP} and
+ * {@link HeapSort.Variant#BRANCHLESS} share the bottom-up one, counting the
+ * branchless child selection as a comparison.
+ */
+final class InstrumentedHeapSort {
+    private long comparisons;
+    private long moves;
+    private int maxDepth;
+
+    private InstrumentedHeapSort() {
+    }
+
+    /**
+     * Sorts {@code arr[from, to)} with the given variant, adds the counters to
+     * {@code stats} and commits a {@link HeapSortEvent}.
+     */
+    static void sort(int[] arr, int from, int to, HeapSort.Variant variant, SortStats stats) {
+        int n = to - from;
+        if (variant == HeapSort.Variant.AUTO) {
+            variant = n > HeapSort.CACHE_RESIDENT_ELEMENTS
+                    ? HeapSort.Variant.FOUR_ARY : HeapSort.Variant.CLASSIC;
+        }
+        HeapSortEvent event = new HeapSortEvent();
+        event.begin();
+        InstrumentedHeapSort counter = new InstrumentedHeapSort();
+        long start = System.nanoTime();
+        long built;
+        switch (variant) {
+            case BOTTOM_UP:
+            case BRANCHLESS:
+                for (int i = n / 2 - 1; i >= 0; i--) {
+                    counter.siftBottomUp(arr, from, n, i, arr[from + i]);
+                }
+                built = System.nanoTime();
+                for (int i = n - 1; i > 0; i--) {
+                    int value = arr[from + i];
+                    arr[from + i] = arr[from];
+                    counter.moves++;
+                    counter.siftBottomUp(arr, from, i, 0, value);
+                }
+                break;
+            default:
+                int d = variant == HeapSort.Variant.FOUR_ARY ? 4
+                        : variant == HeapSort.Variant.EIGHT_ARY ? 8 : 2;
+                int parents = (int) (((long) n + d - 2) / d);
+                for (int i = parents - 1; i >= 0; i--) {
+                    counter.siftDary(arr, from, n, i, d);
+                }
+                built = System.nanoTime();
+                for (int i = n - 1; i > 0; i--) {
+                    int temp = arr[from];
+                    arr[from] = arr[from + i];
+                    arr[from + i] = temp;
+                    counter.moves += 2;
+                    counter.siftDary(arr, from, i, 0, d);
+                }
+                break;
+        }
+        long end = System.nanoTime();
+        stats.add(n, counter.comparisons, counter.moves, counter.maxDepth,
+                built - start, end - built);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.variant = variant.name();
+            event.length = n;
+            event.comparisons = counter.comparisons;
+            event.moves = counter.moves;
+            event.maxDepth = counter.maxDepth;
+            event.buildHeapNanos = built - start;
+            event.extractionNanos = end - built;
+            event.commit();
+        }
+    }
+
+    private void siftDary(int[] arr, int from, int n, int i, int d) {
+        int value = arr[from + i];
+        int parents = (int) (((long) n + d - 2) / d);
+        int depth = 0;
+        while (i < parents) {
+            int first = d * i + 1;
+            int last = Math.min(first + d, n);
+            int child = first;
+            int childValue = arr[from + first];
+            for (int c = first + 1; c < last; c++) {
+                int candidate = arr[from + c];
+                comparisons++;
+                if (candidate > childValue) {
+                    child = c;
+                    childValue = candidate;
+                }
+            }
+            comparisons++;
+            if (value >= childValue) {
+                break;
+            }
+            arr[from + i] = childValue;
+            moves++;
+            depth++;
+            i = child;
+        }
+        arr[from + i] = value;
+        moves++;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    private void siftBottomUp(int[] arr, int from, int n, int i, int value) {
+        int start = i;
+        int half = n >>> 1;
+        int depth = 0;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n) {
+                comparisons++;
+                if (arr[from + right] > arr[from + child]) {
+                    child = right;
+                }
+            }
+            arr[from + i] = arr[from + child];
+            moves++;
+            depth++;
+            i = child;
+        }
+        while (i > start) {
+            int parent = (i - 1) >>> 1;
+            int parentValue = arr[from + parent];
+            comparisons++;
+            if (parentValue >= value) {
+                break;
+            }
+            arr[from + i] = parentValue;
+            moves++;
+            i = parent;
+        }
+        arr[from + i] = value;
+        moves++;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+}
@@ -0,0 +1,340 @@
+package ru.nsu.shadrina;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Bulk reading and writing of int files for the command-line sorter. Binary
+ * files hold big-endian ints, text files one decimal int per line. Input is
+ * memory-mapped in windows; output goes through a direct buffer, so no call is
+ * made per element. Progress is reported as the completed fraction, once per
+ * window or buffer.
+ */
+final class IntFiles {
+    private static final long MAP_WINDOW = 64L * 1024 * 1024;
+    private static final int WRITE_BUFFER = 1 << 20;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private IntFiles() {
+    }
+
+    /**
+     * Reads a binary file of big-endian ints into an array.
+     */
+    static int[] readBinary(Path path, DoubleConsumer progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException("File length is not a multiple of 4: " + path);
+            }
+            if (size / Integer.BYTES > MAX_ARRAY_LENGTH) {
+                throw new IOException("Too many values to sort in memory: " + path);
+            }
+            int[] values = new int[(int) (size / Integer.BYTES)];
+            int done = 0;
+            for (long offset = 0; offset < size; offset += MAP_WINDOW) {
+                long length = Math.min(MAP_WINDOW, size - offset);
+                IntBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length)
+                        .asIntBuffer();
+                int n = window.remaining();
+                window.get(values, done, n);
+                done += n;
+                progress.accept((double) done / values.length);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Writes the values to a binary file of big-endian ints.
+     */
+    static void writeBinary(Path path, int[] values, DoubleConsumer progress) throws IOException {
+        try (BinaryWriter writer = new BinaryWriter(path)) {
+            int chunk = WRITE_BUFFER / Integer.BYTES;
+            for (int from = 0; from < values.length; from += chunk) {
+                int n = Math.min(chunk, values.length - from);
+                writer.write(values, from, n);
+                progress.accept((double) (from + n) / values.length);
+            }
+        }
+    }
+
+    /**
+     * Reads a text file of one int per line into an array.
+     */
+    static int[] readText(Path path, DoubleConsumer progress) throws IOException {
+        return readText(path, progress, MAX_ARRAY_LENGTH);
+    }
+
+    /**
+     * Reads a text file of one int per line into an array of at most {@code maxValues}
+     * values; a longer file fails with an {@link IOException}.
+     */
+    static int[] readText(Path path, DoubleConsumer progress, int maxValues) throws IOException {
+        GrowableArray values = new GrowableArray(path, maxValues);
+        try {
+            parseText(path, values, progress);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return values.toArray();
+    }
+
+    /**
+     * Writes the values to a text file, one per line.
+     */
+    static void writeText(Path path, int[] values, DoubleConsumer progress) throws IOException {
+        try (TextWriter writer = new TextWriter(path)) {
+            int step = Math.max(1, values.length / 100);
+            for (int i = 0; i < values.length; i++) {
+                writer.write(values[i]);
+                if ((i + 1) % step == 0) {
+                    progress.accept((double) (i + 1) / values.length);
+                }
+            }
+        }
+        progress.accept(1.0);
+    }
+
+    /**
+     * Converts a text file of one int per line into a binary file of big-endian ints.
+     */
+    static void textToBinary(Path text, Path binary, DoubleConsumer progress) throws IOException {
+        try (BinaryWriter writer = new BinaryWriter(binary)) {
+            parseText(text, value -> {
+                try {
+                    writer.write(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, progress);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Converts a binary file of big-endian ints into a text file of one int per line.
+     */
+    static void binaryToText(Path binary, Path text, DoubleConsumer progress) throws IOException {
+        try (FileChannel channel = FileChannel.open(binary, StandardOpenOption.READ);
+                TextWriter writer = new TextWriter(text)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException("File length is not a multiple of 4: " + binary);
+            }
+            for (long offset = 0; offset < size; offset += MAP_WINDOW) {
+                long length = Math.min(MAP_WINDOW, size - offset);
+                IntBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length)
+                        .asIntBuffer();
+                while (window.hasRemaining()) {
+                    writer.write(window.get());
+                }
+                progress.accept((double) (offset + length) / size);
+            }
+        }
+    }
+
+    /**
+     * Parses decimal ints separated by whitespace, passing each one to {@code sink}.
+     * A number may span two mapping windows.
+     */
+    private static void parseText(Path path, IntConsumer sink, DoubleConsumer progress)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long value = 0;
+            boolean negative = false;
+            int digits = 0;
+            boolean inNumber = false;
+            for (long offset = 0; offset < size; offset += MAP_WINDOW) {
+                long length = Math.min(MAP_WINDOW, size - offset);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        offset, length);
+                for (int i = 0; i < length; i++) {
+                    byte b = window.get(i);
+                    if (b >= '0' && b <= '9') {
+                        value = value * 10 + (b - '0');
+                        digits++;
+                        inNumber = true;
+                        if (value > (negative ? 1L << 31 : Integer.MAX_VALUE)) {
+                            throw new IOException("Value out of int range at byte "
+                                    + (offset + i) + ": " + path);
+                        }
+                    } else if (b == '-' && !inNumber) {
+                        negative = true;
+                        inNumber = true;
+                    } else if (b == '\n' || b == '\r' || b == ' ' || b == '\t') {
+                        if (inNumber) {
+                            sink.accept(finish(value, negative, digits, path, offset + i));
+                            value = 0;
+                            negative = false;
+                            digits = 0;
+                            inNumber = false;
+                        }
+                    } else {
+                        throw new IOException("Unexpected character at byte " + (offset + i)
+                                + ": " + path);
+                    }
+                }
+                progress.accept((double) (offset + length) / size);
+            }
+            if (inNumber) {
+                sink.accept(finish(value, negative, digits, path, size));
+            }
+        }
+    }
+
+    private static int finish(long value, boolean negative, int digits, Path path, long position)
+            throws IOException {
+        if (digits == 0) {
+            throw new IOException("Sign without digits at byte " + position + ": " + path);
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Int array that doubles when full, up to {@code maxValues} values. Overflow is
+     * reported as an {@link UncheckedIOException}, since {@link IntConsumer} cannot
+     * throw a checked one.
+     */
+    private static final class GrowableArray implements IntConsumer {
+        private final Path path;
+        private final int maxValues;
+        private int[] values;
+        private int size;
+
+        GrowableArray(Path path, int maxValues) {
+            this.path = path;
+            this.maxValues = maxValues;
+            values = new int[Math.min(1024, maxValues)];
+        }
+
+        @Override
+        public void accept(int value) {
+            if (size == values.length) {
+                if (size == maxValues) {
+                    throw new UncheckedIOException(new IOException(
+                            "Too many values to sort in memory: " + path));
+                }
+                values = Arrays.copyOf(values, (int) Math.min(maxValues, 2L * size));
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Buffered writer of big-endian ints.
+     */
+    private static final class BinaryWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER);
+        private final IntBuffer ints = buffer.asIntBuffer();
+
+        BinaryWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(int value) throws IOException {
+            if (!ints.hasRemaining()) {
+                flush();
+            }
+            ints.put(value);
+        }
+
+        void write(int[] values, int from, int n) throws IOException {
+            while (n > 0) {
+                if (!ints.hasRemaining()) {
+                    flush();
+                }
+                int count = Math.min(n, ints.remaining());
+                ints.put(values, from, count);
+                from += count;
+                n -= count;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.limit(ints.position() * Integer.BYTES).position(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            ints.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Buffered writer of decimal ints, one per line.
+     */
+    private static final class TextWriter implements Closeable {
+        private static final int MAX_LINE = 12;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER);
+        private final byte[] digits = new byte[MAX_LINE];
+
+        TextWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(int value) throws IOException {
+            if (buffer.remaining() < MAX_LINE) {
+                flush();
+            }
+            int i = MAX_LINE;
+            digits[--i] = '\n';
+            long magnitude = Math.abs((long) value);
+            do {
+                digits[--i] = (byte) ('0' + magnitude % 10);
+                magnitude /= 10;
+            } while (magnitude != 0);
+            if (value < 0) {
+                digits[--i] = '-';
+            }
+            buffer.put(digits, i, MAX_LINE - i);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package ru.nsu.shadrina;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Growable binary min-heap of primitive {@code int} values, a priority queue that
+ * does not box. The smallest value is at the top.
+ */
+public class IntHeap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] heap;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     */
+    public IntHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty heap with room for {@code initialCapacity} values.
+     *
+     * @param initialCapacity number of values stored before the first resize
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public IntHeap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        }
+        heap = new int[initialCapacity];
+    }
+
+    /**
+     * Creates a heap holding a copy of {@code values}, built bottom-up in O(n).
+     *
+     * @param values initial values
+     * @return new heap
+     */
+    public static IntHeap heapify(int[] values) {
+        IntHeap result = new IntHeap(0);
+        result.heap = values.clone();
+        result.size = values.length;
+        for (int i = result.size / 2 - 1; i >= 0; i--) {
+            siftDown(result.heap, result.size, i);
+        }
+        return result;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value value to add
+     */
+    public void push(int value) {
+        if (size == heap.length) {
+            grow();
+        }
+        siftUp(heap, size++, value);
+    }
+
+    /**
+     * Returns the smallest value without removing it.
+     *
+     * @return smallest value
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the smallest value.
+     *
+     * @return smallest value
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int top = heap[0];
+        if (--size > 0) {
+            heap[0] = heap[size];
+            siftDown(heap, size, 0);
+        }
+        return top;
+    }
+
+    /**
+     * Replaces the smallest value with {@code value} in a single sift, which is
+     * cheaper than {@link #pop()} followed by {@link #push}.
+     *
+     * @param value value to add
+     * @return the removed smallest value
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int replaceTop(int value) {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int top = heap[0];
+        heap[0] = value;
+        siftDown(heap, size, 0);
+        return top;
+    }
+
+    /**
+     * Returns the number of values in the heap.
+     *
+     * @return number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return true if there are no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values, keeping the allocated storage.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = heap.length + Math.max(DEFAULT_CAPACITY, heap.length >> 1);
+        if (capacity < 0) {
+            capacity = Integer.MAX_VALUE - 8;
+            if (capacity <= size) {
+                throw new OutOfMemoryError("Heap is too large");
+            }
+        }
+        heap = Arrays.copyOf(heap, capacity);
+    }
+
+    /**
+     * Sifts the value at index {@code i} down the min-heap {@code heap[0, n)}.
+     */
+    static void siftDown(int[] heap, int n, int i) {
+        int value = heap[i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < n && heap[right] < heap[child]) {
+                child = right;
+            }
+            int childValue = heap[child];
+            if (value <= childValue) {
+                break;
+            }
+            heap[i] = childValue;
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    /**
+     * Places {@code value} into the hole at index {@code i} and sifts it up.
+     */
+    static void siftUp(int[] heap, int i, int value) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentValue = heap[parent];
+            if (parentValue <= value) {
+                break;
+            }
+            heap[i] = parentValue;
+            i = parent;
+        }
+        heap[i] = value;
+    }
+}
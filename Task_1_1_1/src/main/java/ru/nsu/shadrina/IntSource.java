@@ -0,0 +1,14 @@
+package ru.nsu.shadrina;
+
+/**
+ * Sorted stream of ints read in batches, the input of {@link KWayMerger}.
+ */
+public interface IntSource {
+    /**
+     * Copies the next values into {@code buffer}, starting at index 0.
+     *
+     * @param buffer destination
+     * @return number of values copied, 0 once the source is exhausted
+     */
+    int read(int[] buffer);
+}
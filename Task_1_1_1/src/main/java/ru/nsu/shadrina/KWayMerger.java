@@ -0,0 +1,257 @@
+package ru.nsu.shadrina;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+/**
+ * Merges sorted int sources into one sorted stream with a loser tree, so each
+ * value costs {@code log2 k} comparisons and no heap bookkeeping beyond that.
+ * Values are pulled in batches into a caller-provided buffer, and array sources
+ * are read in place without copying.
+ *
+ * <p>A merger is itself an {@link IntSource}, so mergers can be stacked.
+ */
+public final class KWayMerger implements IntSource {
+    private static final int BUFFER_SIZE = 1024;
+    private static final long EXHAUSTED = Long.MAX_VALUE;
+
+    private final IntSource[] sources;
+    private final int[][] buffers;
+    private final int[] positions;
+    private final int[] limits;
+    /**
+     * Current head of every source: value in the high half, source index in the
+     * low half, so keys are distinct and order by value.
+     */
+    private final long[] keys;
+    /**
+     * Loser of the match played at each internal node {@code 1 .. k - 1}.
+     */
+    private final int[] losers;
+    private int winner;
+
+    /**
+     * Creates a merger over the given sorted sources.
+     *
+     * @param sources sources, each sorted in ascending order
+     */
+    public KWayMerger(IntSource... sources) {
+        int k = sources.length;
+        this.sources = sources.clone();
+        buffers = new int[k][];
+        positions = new int[k];
+        limits = new int[k];
+        keys = new long[k];
+        losers = new int[Math.max(1, k)];
+        for (int r = 0; r < k; r++) {
+            if (sources[r] instanceof ArraySource) {
+                ArraySource array = (ArraySource) sources[r];
+                buffers[r] = array.arr;
+                positions[r] = array.from;
+                limits[r] = array.to;
+                this.sources[r] = null;
+            } else {
+                buffers[r] = new int[BUFFER_SIZE];
+            }
+            keys[r] = head(r);
+        }
+        winner = k == 0 ? -1 : build(1);
+    }
+
+    /**
+     * Creates a merger over the given sorted sources.
+     *
+     * @param sources sources, each sorted in ascending order
+     */
+    public KWayMerger(List<? extends IntSource> sources) {
+        this(sources.toArray(new IntSource[0]));
+    }
+
+    /**
+     * Wraps a sorted array; the merger reads it in place.
+     *
+     * @param sorted array sorted in ascending order
+     * @return source over the whole array
+     */
+    public static IntSource of(int[] sorted) {
+        return new ArraySource(sorted, 0, sorted.length);
+    }
+
+    /**
+     * Wraps a sorted range of an array; the merger reads it in place.
+     *
+     * @param arr array whose range {@code [fromIndex, toIndex)} is sorted
+     * @param fromIndex first index, inclusive
+     * @param toIndex last index, exclusive
+     * @return source over the range
+     */
+    public static IntSource of(int[] arr, int fromIndex, int toIndex) {
+        return new ArraySource(arr, fromIndex, toIndex);
+    }
+
+    /**
+     * Wraps an iterator over sorted values.
+     *
+     * @param iterator iterator returning values in ascending order
+     * @return source pulling from the iterator
+     */
+    public static IntSource of(PrimitiveIterator.OfInt iterator) {
+        return buffer -> {
+            int n = 0;
+            while (n < buffer.length && iterator.hasNext()) {
+                buffer[n++] = iterator.nextInt();
+            }
+            return n;
+        };
+    }
+
+    /**
+     * Merges sorted arrays into a new sorted array.
+     *
+     * @param shards arrays sorted in ascending order
+     * @return merged array
+     */
+    public static int[] merge(int[]... shards) {
+        long total = 0;
+        IntSource[] sources = new IntSource[shards.length];
+        for (int r = 0; r < shards.length; r++) {
+            total += shards[r].length;
+            sources[r] = of(shards[r]);
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Merged length exceeds array limits: " + total);
+        }
+        int[] merged = new int[(int) total];
+        new KWayMerger(sources).fill(merged, 0, merged.length);
+        return merged;
+    }
+
+    /**
+     * Copies up to {@code length} next merged values into {@code out}.
+     *
+     * @param out destination
+     * @param offset first index of {@code out} to write
+     * @param length maximum number of values to write
+     * @return number of values written; less than {@code length} only when all
+     *     sources are exhausted
+     */
+    public int fill(int[] out, int offset, int length) {
+        if (winner < 0) {
+            return 0;
+        }
+        int n = 0;
+        while (n < length) {
+            int w = winner;
+            long key = keys[w];
+            if (key == EXHAUSTED) {
+                break;
+            }
+            out[offset + n++] = (int) (key >> 32);
+            positions[w]++;
+            keys[w] = head(w);
+            replay(w);
+        }
+        return n;
+    }
+
+    @Override
+    public int read(int[] buffer) {
+        return fill(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Merges the sorted slices {@code src[starts[r], ends[r])} into {@code dst}
+     * starting at {@code out}.
+     */
+    static void merge(int[] src, int[] starts, int[] ends, int[] dst, int out) {
+        IntSource[] sources = new IntSource[starts.length];
+        int total = 0;
+        for (int r = 0; r < starts.length; r++) {
+            sources[r] = of(src, starts[r], ends[r]);
+            total += ends[r] - starts[r];
+        }
+        new KWayMerger(sources).fill(dst, out, total);
+    }
+
+    /**
+     * Returns the key of the current head of source {@code r}, refilling its buffer if needed.
+     */
+    private long head(int r) {
+        if (positions[r] == limits[r]) {
+            if (sources[r] == null) {
+                return EXHAUSTED;
+            }
+            int n = sources[r].read(buffers[r]);
+            if (n <= 0) {
+                sources[r] = null;
+                return EXHAUSTED;
+            }
+            positions[r] = 0;
+            limits[r] = n;
+        }
+        return ((long) buffers[r][positions[r]] << 32) | r;
+    }
+
+    /**
+     * Plays the matches of the subtree at {@code node} and returns its winner.
+     * Leaves are nodes {@code k .. 2k - 1}.
+     */
+    private int build(int node) {
+        int k = keys.length;
+        if (node >= k) {
+            return node - k;
+        }
+        int left = build(2 * node);
+        int right = build(2 * node + 1);
+        if (keys[left] <= keys[right]) {
+            losers[node] = right;
+            return left;
+        }
+        losers[node] = left;
+        return right;
+    }
+
+    /**
+     * Replays the matches on the path from leaf {@code r} to the root.
+     */
+    private void replay(int r) {
+        int w = r;
+        long key = keys[w];
+        for (int node = (r + keys.length) >>> 1; node > 0; node >>>= 1) {
+            int loser = losers[node];
+            if (keys[loser] < key) {
+                losers[node] = w;
+                w = loser;
+                key = keys[w];
+            }
+        }
+        winner = w;
+    }
+
+    /**
+     * Sorted array range read in place by the merger.
+     */
+    private static final class ArraySource implements IntSource {
+        private final int[] arr;
+        private final int from;
+        private final int to;
+        private int position;
+
+        ArraySource(int[] arr, int from, int to) {
+            Objects.checkFromToIndex(from, to, arr.length);
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.position = from;
+        }
+
+        @Override
+        public int read(int[] buffer) {
+            int n = Math.min(buffer.length, to - position);
+            System.arraycopy(arr, position, buffer, 0, n);
+            position += n;
+            return n;
+        }
+    }
+}
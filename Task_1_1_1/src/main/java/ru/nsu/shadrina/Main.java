@@ -1,15 +1,280 @@
 package ru.nsu.shadrina;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Command-line sorter for binary or newline-delimited int files.
+ *
+ * <pre>
+ * java -jar app.jar [options] &lt;input&gt; &lt;output&gt;
+ * </pre>
+ *
+ * <p>Binary files hold big-endian ints. Progress and throughput of every phase
+ * are reported on standard error.
+ */
 public class Main {
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar app.jar [options] <input> <output>",
+            "Sorts a file of ints in ascending order.",
+            "",
+            "Options:",
+            "  --format binary|text   binary: big-endian ints (default);"
+                    + " text: one int per line",
+            "  --mode MODE            sequential (default), parallel, hybrid or external",
+            "  --memory SIZE          memory budget of external mode, e.g. 512m (default 64m)",
+            "  --temp DIR             directory for the runs spilled by external mode",
+            "  --quiet                do not report progress");
+
+    private static final long DEFAULT_MEMORY = 64L * 1024 * 1024;
+
+    /**
+     * Sorting strategy selected with {@code --mode}.
+     */
+    enum Mode {
+        SEQUENTIAL, PARALLEL, HYBRID, EXTERNAL
+    }
+
+    /**
+     * Runs the sorter. Without arguments only the usage is printed.
+     *
+     * @param args command-line arguments
+     */
     public static void main(String[] args) {
-        int[] arr = {5, 3, 8, 4, 1};
-        HeapSort.heapsort(arr);
+        if (args.length == 0) {
+            System.out.println(USAGE);
+            return;
+        }
+        int status = run(args, System.err);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Parses the arguments and sorts.
+     *
+     * @return exit status: 0 on success, 1 on I/O errors, 2 on bad arguments
+     */
+    static int run(String[] args, PrintStream err) {
+        boolean text = false;
+        Mode mode = Mode.SEQUENTIAL;
+        long memory = DEFAULT_MEMORY;
+        Path temp = null;
+        boolean quiet = false;
+        Path input = null;
+        Path output = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--format":
+                        String format = value(args, ++i, arg);
+                        if (!format.equals("binary") && !format.equals("text")) {
+                            throw new IllegalArgumentException("Unknown format: " + format);
+                        }
+                        text = format.equals("text");
+                        break;
+                    case "--mode":
+                        mode = parseMode(value(args, ++i, arg));
+                        break;
+                    case "--memory":
+                        memory = parseSize(value(args, ++i, arg));
+                        break;
+                    case "--temp":
+                        temp = Paths.get(value(args, ++i, arg));
+                        break;
+                    case "--quiet":
+                        quiet = true;
+                        break;
+                    default:
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                        } else if (input == null) {
+                            input = Paths.get(arg);
+                        } else if (output == null) {
+                            output = Paths.get(arg);
+                        } else {
+                            throw new IllegalArgumentException("Unexpected argument: " + arg);
+                        }
+                        break;
+                }
+            }
+            if (output == null) {
+                throw new IllegalArgumentException("Input and output files are required");
+            }
+            if (memory < ExternalHeapSort.MIN_MEMORY_BUDGET) {
+                throw new IllegalArgumentException("Memory budget too small: " + memory);
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        Report report = new Report(err, quiet);
+        try {
+            long start = System.nanoTime();
+            long count;
+            if (mode == Mode.EXTERNAL) {
+                count = sortExternal(input, output, text, memory, temp, report);
+            } else {
+                count = sortInMemory(input, output, text, mode, report);
+            }
+            report.phase("total", count, System.nanoTime() - start);
+            return 0;
+        } catch (IOException e) {
+            err.println("Sort failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static long sortInMemory(Path input, Path output, boolean text, Mode mode,
+            Report report) throws IOException {
+        long start = System.nanoTime();
+        int[] values = text
+                ? IntFiles.readText(input, report.progress("read"))
+                : IntFiles.readBinary(input, report.progress("read"));
+        report.phase("read", values.length, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        switch (mode) {
+            case PARALLEL:
+                HeapSort.parallelHeapsort(values, ForkJoinPool.commonPool());
+                break;
+            case HYBRID:
+                HybridSort.sort(values);
+                break;
+            default:
+                HeapSort.heapsort(values, HeapSort.Variant.AUTO);
+                break;
+        }
+        report.phase("sort", values.length, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        if (text) {
+            IntFiles.writeText(output, values, report.progress("write"));
+        } else {
+            IntFiles.writeBinary(output, values, report.progress("write"));
+        }
+        report.phase("write", values.length, System.nanoTime() - start);
+        return values.length;
+    }
+
+    private static long sortExternal(Path input, Path output, boolean text, long memory,
+            Path temp, Report report) throws IOException {
+        Path dir = temp != null ? temp : output.toAbsolutePath().getParent();
+        if (!text) {
+            long start = System.nanoTime();
+            ExternalHeapSort.sort(input, output, memory, dir);
+            long count = Files.size(output) / Integer.BYTES;
+            report.phase("sort", count, System.nanoTime() - start);
+            return count;
+        }
+        Path unsorted = Files.createTempFile(dir, "unsorted", ".bin");
+        Path sorted = Files.createTempFile(dir, "sorted", ".bin");
+        try {
+            long start = System.nanoTime();
+            IntFiles.textToBinary(input, unsorted, report.progress("read"));
+            long count = Files.size(unsorted) / Integer.BYTES;
+            report.phase("read", count, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            ExternalHeapSort.sort(unsorted, sorted, memory, dir);
+            report.phase("sort", count, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            IntFiles.binaryToText(sorted, output, report.progress("write"));
+            report.phase("write", count, System.nanoTime() - start);
+            return count;
+        } finally {
+            Files.deleteIfExists(unsorted);
+            Files.deleteIfExists(sorted);
+        }
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[i];
+    }
+
+    static Mode parseMode(String mode) {
+        try {
+            return Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    /**
+     * Parses a byte count with an optional {@code k}, {@code m} or {@code g} suffix.
+     */
+    static long parseSize(String size) {
+        String digits = size.toLowerCase(Locale.ROOT);
+        int shift = 0;
+        if (digits.endsWith("k")) {
+            shift = 10;
+        } else if (digits.endsWith("m")) {
+            shift = 20;
+        } else if (digits.endsWith("g")) {
+            shift = 30;
+        }
+        if (shift != 0) {
+            digits = digits.substring(0, digits.length() - 1);
+        }
+        try {
+            long value = Long.parseLong(digits);
+            if (value < 0 || value > Long.MAX_VALUE >> shift) {
+                throw new NumberFormatException();
+            }
+            return value << shift;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+    }
+
+    /**
+     * Progress and throughput lines on standard error.
+     */
+    private static final class Report {
+        private final PrintStream err;
+        private final boolean quiet;
+
+        Report(PrintStream err, boolean quiet) {
+            this.err = err;
+            this.quiet = quiet;
+        }
+
+        DoubleConsumer progress(String phase) {
+            if (quiet) {
+                return fraction -> { };
+            }
+            int[] last = {-1};
+            return fraction -> {
+                int percent = (int) (fraction * 100);
+                if (percent != last[0]) {
+                    last[0] = percent;
+                    err.print("\r" + phase + " " + percent + "%");
+                }
+            };
+        }
 
-        int n = arr.length;
-        System.out.print("[" + arr[0]);
-        for (int i = 1; i < n; i++) {
-            System.out.print(" " + arr[i]);
+        void phase(String phase, long count, long nanos) {
+            if (quiet) {
+                return;
+            }
+            double millis = nanos / 1e6;
+            double rate = nanos == 0 ? 0 : count * 1e3 / nanos;
+            err.printf(Locale.ROOT, "\r%-6s %,d values in %.1f ms (%.1f M values/s)%n",
+                    phase, count, millis, rate);
         }
-        System.out.print("]");
     }
 }
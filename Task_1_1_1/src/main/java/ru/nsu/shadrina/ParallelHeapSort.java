@@ -0,0 +1,211 @@
+package ru.nsu.shadrina;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join heap sort: chunks are heap-sorted in parallel, then the sorted runs
+ * are split into value ranges that are k-way merged in parallel. A value that
+ * fills several ranges is split between them by position, so inputs with few
+ * distinct values still give every worker a segment.
+ */
+final class ParallelHeapSort {
+    /**
+     * Arrays up to this length are sorted sequentially, and no run is shorter.
+     */
+    static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private static final int OVERSAMPLING = 8;
+
+    private ParallelHeapSort() {
+    }
+
+    static void sort(int[] arr, ForkJoinPool pool) {
+        int n = arr.length;
+        int runs = Math.min(pool.getParallelism(), n / SEQUENTIAL_THRESHOLD);
+        if (runs < 2) {
+            HeapSort.sort(arr, 0, n, HeapSort.Variant.CLASSIC);
+            return;
+        }
+
+        int[] bounds = new int[runs + 1];
+        for (int r = 0; r <= runs; r++) {
+            bounds[r] = (int) ((long) n * r / runs);
+        }
+        int[] tmp = new int[n];
+        pool.invoke(new SortRuns(arr, tmp, bounds, 0, runs));
+
+        int[][] cuts = cuts(tmp, bounds, chooseSplitters(tmp, bounds, runs));
+        int segments = cuts.length - 1;
+        MergeSegment[] tasks = new MergeSegment[segments];
+        int out = 0;
+        for (int s = 0; s < segments; s++) {
+            tasks[s] = new MergeSegment(tmp, cuts[s], cuts[s + 1], arr, out);
+            for (int r = 0; r < runs; r++) {
+                out += cuts[s + 1][r] - cuts[s][r];
+            }
+        }
+        for (MergeSegment task : tasks) {
+            pool.execute(task);
+        }
+        for (MergeSegment task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Returns the segment boundaries of every run: segment {@code s} of run
+     * {@code r} is {@code [cuts[s][r], cuts[s + 1][r])}. Each splitter ends a
+     * segment. A splitter repeated {@code k} times cuts the range of its equal
+     * values in every run into {@code k + 1} parts by position; a single one
+     * cuts that range in half.
+     */
+    static int[][] cuts(int[] runsArr, int[] bounds, int[] splitters) {
+        int runs = bounds.length - 1;
+        int segments = splitters.length + 1;
+        int[][] cuts = new int[segments + 1][];
+        cuts[0] = Arrays.copyOf(bounds, runs);
+        cuts[segments] = Arrays.copyOfRange(bounds, 1, runs + 1);
+        for (int s = 1; s < segments; s++) {
+            cuts[s] = new int[runs];
+        }
+        for (int first = 0; first < splitters.length; ) {
+            int key = splitters[first];
+            int end = first + 1;
+            while (end < splitters.length && splitters[end] == key) {
+                end++;
+            }
+            int parts = end - first + 1;
+            for (int r = 0; r < runs; r++) {
+                int lo = lowerBound(runsArr, bounds[r], bounds[r + 1], key);
+                int hi = upperBound(runsArr, lo, bounds[r + 1], key);
+                for (int j = 1; j < parts; j++) {
+                    cuts[first + j][r] = lo + (int) ((long) (hi - lo) * j / parts);
+                }
+            }
+            first = end;
+        }
+        return cuts;
+    }
+
+    /**
+     * Picks value splitters from regularly spaced samples of every sorted run.
+     * The splitters are non-decreasing and may repeat.
+     */
+    private static int[] chooseSplitters(int[] runsArr, int[] bounds, int runs) {
+        int perRun = runs * OVERSAMPLING;
+        int[] samples = new int[runs * perRun];
+        int count = 0;
+        for (int r = 0; r < runs; r++) {
+            int length = bounds[r + 1] - bounds[r];
+            for (int i = 0; i < perRun; i++) {
+                samples[count++] = runsArr[bounds[r] + (int) ((long) length * i / perRun)];
+            }
+        }
+        HeapSort.sort(samples, 0, count, HeapSort.Variant.CLASSIC);
+
+        int[] splitters = new int[runs - 1];
+        for (int s = 1; s < runs; s++) {
+            splitters[s - 1] = samples[s * count / runs];
+        }
+        return splitters;
+    }
+
+    /**
+     * Returns the first index in the sorted range {@code arr[from, to)} whose
+     * value is not less than {@code key}.
+     */
+    private static int lowerBound(int[] arr, int from, int to, int key) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the first index in the sorted range {@code arr[from, to)} whose
+     * value is greater than {@code key}.
+     */
+    private static int upperBound(int[] arr, int from, int to, int key) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Copies runs {@code [lo, hi)} into the scratch array and heap-sorts them there.
+     */
+    private static final class SortRuns extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int[] bounds;
+        private final int lo;
+        private final int hi;
+
+        SortRuns(int[] src, int[] dst, int[] bounds, int lo, int hi) {
+            this.src = src;
+            this.dst = dst;
+            this.bounds = bounds;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                int from = bounds[lo];
+                int to = bounds[hi];
+                System.arraycopy(src, from, dst, from, to - from);
+                HeapSort.sort(dst, from, to, HeapSort.Variant.CLASSIC);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortRuns(src, dst, bounds, lo, mid),
+                    new SortRuns(src, dst, bounds, mid, hi));
+        }
+    }
+
+    /**
+     * Merges one value range of every run into its final place.
+     */
+    private static final class MergeSegment extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] dst;
+        private final int out;
+
+        MergeSegment(int[] src, int[] starts, int[] ends, int[] dst, int out) {
+            this.src = src;
+            this.starts = starts;
+            this.ends = ends;
+            this.dst = dst;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            KWayMerger.merge(src, starts, ends, dst, out);
+        }
+    }
+}
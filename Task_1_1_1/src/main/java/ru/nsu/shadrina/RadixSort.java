@@ -0,0 +1,156 @@
+package ru.nsu.shadrina;
+
+import java.util.Objects;
+
+/**
+ * Least-significant-digit radix sort of int and long arrays with 8-bit digits.
+ *
+ * <p>One pass over the input builds the histograms of all digits; a digit on
+ * which every key agrees is skipped, so narrow-range keys need fewer passes.
+ * The most significant digit has its sign bit flipped, which orders negative
+ * keys first. The sort needs a scratch array as large as the range and is
+ * stable.
+ */
+public final class RadixSort {
+    private static final int RADIX = 256;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param arr array to sort
+     */
+    public static void sort(int[] arr) {
+        sort(arr, 0, arr.length);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void sort(int[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[Integer.BYTES][RADIX];
+        for (int i = fromIndex; i < toIndex; i++) {
+            int key = arr[i] ^ Integer.MIN_VALUE;
+            counts[0][key & 0xFF]++;
+            counts[1][(key >>> 8) & 0xFF]++;
+            counts[2][(key >>> 16) & 0xFF]++;
+            counts[3][key >>> 24]++;
+        }
+
+        int[] src = arr;
+        int srcFrom = fromIndex;
+        int[] dst = null;
+        for (int digit = 0; digit < Integer.BYTES; digit++) {
+            int[] count = counts[digit];
+            if (!toOffsets(count, n)) {
+                continue;
+            }
+            if (dst == null) {
+                dst = new int[n];
+            }
+            int dstFrom = src == arr ? 0 : fromIndex;
+            int shift = digit * 8;
+            for (int i = srcFrom, end = srcFrom + n; i < end; i++) {
+                int value = src[i];
+                int bucket = ((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+                dst[dstFrom + count[bucket]++] = value;
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+            srcFrom = dstFrom;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, fromIndex, n);
+        }
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param arr array to sort
+     */
+    public static void sort(long[] arr) {
+        sort(arr, 0, arr.length);
+    }
+
+    /**
+     * Sorts {@code arr[fromIndex, toIndex)} in ascending order.
+     *
+     * @param arr array to sort
+     * @param fromIndex first index to sort, inclusive
+     * @param toIndex last index to sort, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public static void sort(long[] arr, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, arr.length);
+        int n = toIndex - fromIndex;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (int i = fromIndex; i < toIndex; i++) {
+            long key = arr[i] ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < Long.BYTES; digit++) {
+                counts[digit][(int) (key >>> (digit * 8)) & 0xFF]++;
+            }
+        }
+
+        long[] src = arr;
+        int srcFrom = fromIndex;
+        long[] dst = null;
+        for (int digit = 0; digit < Long.BYTES; digit++) {
+            int[] count = counts[digit];
+            if (!toOffsets(count, n)) {
+                continue;
+            }
+            if (dst == null) {
+                dst = new long[n];
+            }
+            int dstFrom = src == arr ? 0 : fromIndex;
+            int shift = digit * 8;
+            for (int i = srcFrom, end = srcFrom + n; i < end; i++) {
+                long value = src[i];
+                int bucket = (int) ((value ^ Long.MIN_VALUE) >>> shift) & 0xFF;
+                dst[dstFrom + count[bucket]++] = value;
+            }
+            long[] swap = src;
+            src = dst;
+            dst = swap;
+            srcFrom = dstFrom;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, fromIndex, n);
+        }
+    }
+
+    /**
+     * Turns a digit histogram into the first output offset of every bucket.
+     *
+     * @return false if all {@code n} keys fall into one bucket and the pass can be skipped
+     */
+    private static boolean toOffsets(int[] count, int n) {
+        int sum = 0;
+        for (int b = 0; b < RADIX; b++) {
+            int c = count[b];
+            if (c == n) {
+                return false;
+            }
+            count[b] = sum;
+            sum += c;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+package ru.nsu.shadrina;
+
+/**
+ * Counters collected by an instrumented heap sort. Every sort run with the same
+ * stats object adds to its counters; {@link #reset()} clears them.
+ *
+ * @see HeapSort#heapsort(int[], HeapSort.Variant, SortStats)
+ */
+public final class SortStats {
+    private long sorts;
+    private long elements;
+    private long comparisons;
+    private long moves;
+    private int maxDepth;
+    private long buildHeapNanos;
+    private long extractionNanos;
+
+    /**
+     * Returns the number of sorts recorded.
+     *
+     * @return number of sorts
+     */
+    public long sorts() {
+        return sorts;
+    }
+
+    /**
+     * Returns the total number of elements sorted.
+     *
+     * @return number of elements
+     */
+    public long elements() {
+        return elements;
+    }
+
+    /**
+     * Returns the number of element comparisons.
+     *
+     * @return number of comparisons
+     */
+    public long comparisons() {
+        return comparisons;
+    }
+
+    /**
+     * Returns the number of element writes into the sorted array.
+     *
+     * @return number of moves
+     */
+    public long moves() {
+        return moves;
+    }
+
+    /**
+     * Returns the largest number of levels a single sift moved through.
+     *
+     * @return maximum depth reached
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the time spent building heaps.
+     *
+     * @return build-heap time in nanoseconds
+     */
+    public long buildHeapNanos() {
+        return buildHeapNanos;
+    }
+
+    /**
+     * Returns the time spent extracting the maximum and restoring the heap.
+     *
+     * @return extraction time in nanoseconds
+     */
+    public long extractionNanos() {
+        return extractionNanos;
+    }
+
+    /**
+     * Clears all counters.
+     */
+    public void reset() {
+        sorts = 0;
+        elements = 0;
+        comparisons = 0;
+        moves = 0;
+        maxDepth = 0;
+        buildHeapNanos = 0;
+        extractionNanos = 0;
+    }
+
+    void add(int n, long comparisons, long moves, int maxDepth, long buildHeapNanos,
+            long extractionNanos) {
+        this.sorts++;
+        this.elements += n;
+        this.comparisons += comparisons;
+        this.moves += moves;
+        this.maxDepth = Math.max(this.maxDepth, maxDepth);
+        this.buildHeapNanos += buildHeapNanos;
+        this.extractionNanos += extractionNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SortStats{sorts=" + sorts + ", elements=" + elements
+                + ", comparisons=" + comparisons + ", moves=" + moves
+                + ", maxDepth=" + maxDepth + ", buildHeapNanos=" + buildHeapNanos
+                + ", extractionNanos=" + extractionNanos + '}';
+    }
+}
@@ -0,0 +1,88 @@
+package ru.nsu.shadrina;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferHeapSortTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDirectIntBufferRange() {
+        int[] values = new Random(1).ints(1000).toArray();
+        IntBuffer buffer = ByteBuffer.allocateDirect(values.length * Integer.BYTES).asIntBuffer();
+        buffer.put(values);
+        buffer.position(10).limit(900);
+        BufferHeapSort.sort(buffer);
+        assertEquals(10, buffer.position());
+        assertEquals(900, buffer.limit());
+
+        int[] expected = values.clone();
+        Arrays.sort(expected, 10, 900);
+        int[] actual = new int[values.length];
+        buffer.clear();
+        buffer.get(actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void testLongBuffer() {
+        long[] values = new Random(2).longs(1000).toArray();
+        LongBuffer buffer = LongBuffer.wrap(values.clone());
+        BufferHeapSort.sort(buffer);
+        Arrays.sort(values);
+        assertArrayEquals(values, buffer.array());
+    }
+
+    @Test
+    void testIntFileAcrossChunks() throws IOException {
+        int[] values = new Random(3).ints(10_000).toArray();
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(values);
+        Path file = tempDir.resolve("ints.bin");
+        Files.write(file, bytes.array());
+
+        BufferHeapSort.sortIntFile(file, ByteOrder.LITTLE_ENDIAN, 12);
+
+        int[] actual = new int[values.length];
+        ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer().get(actual);
+        Arrays.sort(values);
+        assertArrayEquals(values, actual);
+    }
+
+    @Test
+    void testLongFile() throws IOException {
+        long[] values = new Random(4).longs(5000).toArray();
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Long.BYTES);
+        bytes.asLongBuffer().put(values);
+        Path file = tempDir.resolve("longs.bin");
+        Files.write(file, bytes.array());
+
+        BufferHeapSort.sortLongFile(file);
+
+        long[] actual = new long[values.length];
+        ByteBuffer.wrap(Files.readAllBytes(file)).asLongBuffer().get(actual);
+        Arrays.sort(values);
+        assertArrayEquals(values, actual);
+    }
+
+    @Test
+    void testRejectsTruncatedFile() throws IOException {
+        Path file = tempDir.resolve("odd.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5});
+        assertThrows(IOException.class, () -> BufferHeapSort.sortLongFile(file));
+    }
+}
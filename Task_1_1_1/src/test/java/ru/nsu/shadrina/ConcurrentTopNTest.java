@@ -0,0 +1,78 @@
+package ru.nsu.shadrina;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentTopNTest {
+
+    @Test
+    void testSingleThread() {
+        ConcurrentTopN top = new ConcurrentTopN(3, 1);
+        assertArrayEquals(new double[]{}, top.top());
+        assertEquals(Double.NEGATIVE_INFINITY, top.threshold());
+        assertTrue(top.offer(1.5));
+        assertTrue(top.offer(-0.0));
+        assertTrue(top.offer(7));
+        assertEquals(-0.0, top.threshold());
+        assertFalse(top.offer(-1));
+        assertFalse(top.offer(-0.0));
+        assertTrue(top.offer(0.0));
+        assertTrue(top.offer(Double.NaN));
+        assertArrayEquals(new double[]{Double.NaN, 7, 1.5}, top.top());
+        assertEquals(1.5, top.threshold());
+
+        top.clear();
+        assertArrayEquals(new double[]{}, top.top());
+        assertTrue(top.offer(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentTopN(0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentTopN(1, 0));
+    }
+
+    @Test
+    void testConcurrentProducers() throws Exception {
+        int threads = 16;
+        int perThread = 100_000;
+        int n = 1000;
+        double[][] scores = new double[threads][];
+        for (int t = 0; t < threads; t++) {
+            scores[t] = new SplittableRandom(t).doubles(perThread, -1e6, 1e6).toArray();
+        }
+        double[] all = Arrays.stream(scores).flatMapToDouble(Arrays::stream).sorted().toArray();
+        double[] expected = new double[n];
+        for (int i = 0; i < n; i++) {
+            expected[i] = all[all.length - 1 - i];
+        }
+
+        ConcurrentTopN top = new ConcurrentTopN(n, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                double[] mine = scores[t];
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    for (double score : mine) {
+                        top.offer(score);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertArrayEquals(expected, top.top());
+        assertTrue(top.threshold() <= expected[n - 1]);
+    }
+}
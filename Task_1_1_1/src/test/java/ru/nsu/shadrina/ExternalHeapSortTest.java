@@ -0,0 +1,122 @@
+package ru.nsu.shadrina;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalHeapSortTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String name, int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES);
+        buffer.asIntBuffer().put(values);
+        Path path = tempDir.resolve(name);
+        Files.write(path, buffer.array());
+        return path;
+    }
+
+    private int[] read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        int[] values = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(values);
+        return values;
+    }
+
+    private void assertSortsLikeArraysSort(int[] values, long budget) throws IOException {
+        Path input = write("input.bin", values);
+        Path output = tempDir.resolve("output.bin");
+        ExternalHeapSort.sort(input, output, budget, tempDir);
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, read(output));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        assertSortsLikeArraysSort(new int[0], ExternalHeapSort.MIN_MEMORY_BUDGET);
+    }
+
+    @Test
+    void testSingleRun() throws IOException {
+        assertSortsLikeArraysSort(new Random(1).ints(1000).toArray(), 1 << 20);
+    }
+
+    @Test
+    void testManyRunsWithMultiPassMerge() throws IOException {
+        int[] values = new Random(2).ints(200_000).toArray();
+        values[0] = Integer.MIN_VALUE;
+        values[1] = Integer.MAX_VALUE;
+        assertSortsLikeArraysSort(values, ExternalHeapSort.MIN_MEMORY_BUDGET);
+    }
+
+    @Test
+    void testRunsAverageTwiceTheHeap() throws IOException {
+        int[] values = new Random(3).ints(200_000).toArray();
+        Path input = write("input.bin", values);
+        long budget = 64 * 1024;
+        int heap = (int) (budget - budget / 8) / Integer.BYTES;
+        List<Path> runs = ExternalHeapSort.createRuns(input, budget, tempDir, new ArrayList<>());
+        int total = 0;
+        for (int r = 0; r < runs.size(); r++) {
+            int[] run = read(runs.get(r));
+            for (int i = 1; i < run.length; i++) {
+                assertTrue(run[i - 1] <= run[i]);
+            }
+            if (r > 0 && r < runs.size() - 1) {
+                assertTrue(run.length > 1.8 * heap, "run " + r + ": " + run.length);
+            }
+            total += run.length;
+        }
+        assertEquals(values.length, total);
+        assertTrue(runs.size() <= 8, "runs: " + runs.size());
+    }
+
+    @Test
+    void testDuplicatesAndPresortedInput() throws IOException {
+        int[] values = new int[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 7 == 0 ? 3 : i;
+        }
+        assertSortsLikeArraysSort(values, ExternalHeapSort.MIN_MEMORY_BUDGET);
+    }
+
+    @Test
+    void testMergeBuffersFitBudget() {
+        long[] budgets = {ExternalHeapSort.MIN_MEMORY_BUDGET, 20_000, 1 << 20, 5L << 20,
+            64L << 20, 1L << 30};
+        for (long budget : budgets) {
+            int fanIn = ExternalHeapSort.mergeFanIn(budget);
+            int bufferSize = ExternalHeapSort.mergeBufferSize(budget, fanIn);
+            assertTrue(bufferSize >= Integer.BYTES, "budget " + budget);
+            assertEquals(0, bufferSize % Integer.BYTES, "budget " + budget);
+            assertTrue((long) (fanIn + 2) * bufferSize <= budget, "budget " + budget);
+        }
+    }
+
+    @Test
+    void testRejectsTinyBudget() {
+        assertThrows(IllegalArgumentException.class, () -> ExternalHeapSort.sort(
+                tempDir.resolve("in"), tempDir.resolve("out"), 1024, tempDir));
+    }
+
+    @Test
+    void testRejectsTruncatedFile() throws IOException {
+        Path input = tempDir.resolve("odd.bin");
+        Files.write(input, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> ExternalHeapSort.sort(
+                input, tempDir.resolve("out"), ExternalHeapSort.MIN_MEMORY_BUDGET, tempDir));
+    }
+}
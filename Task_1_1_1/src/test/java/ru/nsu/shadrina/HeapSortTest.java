@@ -1,5 +1,9 @@
 package ru.nsu.shadrina;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -54,6 +58,283 @@ public class HeapSortTest {
         assertArrayEquals(new int[]{-5, -1, 0, 3, 4}, arr);
     }
 
+    @Test
+    void testBottomUpUnsortedArray() {
+        int[] arr = {5, 3, 8, 4, 1};
+        HeapSort.heapsort(arr, HeapSort.Variant.BOTTOM_UP);
+        assertArrayEquals(new int[]{1, 3, 4, 5, 8}, arr);
+    }
+
+    @Test
+    void testVariantsMatchArraysSort() {
+        Random random = new Random(42);
+        for (HeapSort.Variant variant : HeapSort.Variant.values()) {
+            for (int n = 0; n < 200; n++) {
+                int[] arr = random.ints(n, -50, 50).toArray();
+                int[] expected = arr.clone();
+                Arrays.sort(expected);
+                HeapSort.heapsort(arr, variant);
+                assertArrayEquals(expected, arr, variant + " n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void testAutoVariantOnLargeInput() {
+        int[] arr = new Random(9).ints(HeapSort.CACHE_RESIDENT_ELEMENTS * 2 + 3).toArray();
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        HeapSort.heapsort(arr, HeapSort.Variant.AUTO);
+        assertArrayEquals(expected, arr);
+    }
+
+    @Test
+    void testIntRange() {
+        int[] arr = {9, 5, 3, 8, 4, 1, 0};
+        HeapSort.heapsort(arr, 1, 6);
+        assertArrayEquals(new int[]{9, 1, 3, 4, 5, 8, 0}, arr);
+    }
+
+    @Test
+    void testRangeOutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> HeapSort.heapsort(new long[3], 2, 4));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> HeapSort.heapsort(new double[3], 2, 1));
+    }
+
+    @Test
+    void testPrimitiveOverloadsMatchArraysSort() {
+        Random random = new Random(3);
+        for (int n = 0; n < 100; n++) {
+            long[] longs = random.longs(n).toArray();
+            long[] expectedLongs = longs.clone();
+            Arrays.sort(expectedLongs);
+            HeapSort.heapsort(longs);
+            assertArrayEquals(expectedLongs, longs);
+
+            short[] shorts = new short[n];
+            char[] chars = new char[n];
+            byte[] bytes = new byte[n];
+            float[] floats = new float[n];
+            for (int i = 0; i < n; i++) {
+                int value = random.nextInt();
+                shorts[i] = (short) value;
+                chars[i] = (char) value;
+                bytes[i] = (byte) value;
+                floats[i] = random.nextFloat() - 0.5f;
+            }
+            short[] expectedShorts = shorts.clone();
+            char[] expectedChars = chars.clone();
+            byte[] expectedBytes = bytes.clone();
+            float[] expectedFloats = floats.clone();
+            Arrays.sort(expectedShorts);
+            Arrays.sort(expectedChars);
+            Arrays.sort(expectedBytes);
+            Arrays.sort(expectedFloats);
+            HeapSort.heapsort(shorts);
+            HeapSort.heapsort(chars);
+            HeapSort.heapsort(bytes);
+            HeapSort.heapsort(floats);
+            assertArrayEquals(expectedShorts, shorts);
+            assertArrayEquals(expectedChars, chars);
+            assertArrayEquals(expectedBytes, bytes);
+            assertArrayEquals(expectedFloats, floats);
+        }
+    }
+
+    @Test
+    void testFloatingPointSpecialValues() {
+        double[] doubles = {Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY, 1.5, -0.0, Double.NaN};
+        HeapSort.heapsort(doubles);
+        assertArrayEquals(new double[]{Double.NEGATIVE_INFINITY, -0.0, -0.0, 0.0, 1.5,
+            Double.NaN, Double.NaN}, doubles);
+
+        float[] floats = {Float.NaN, 0.0f, -0.0f, Float.MAX_VALUE, -1f};
+        HeapSort.heapsort(floats);
+        assertArrayEquals(new float[]{-1f, -0.0f, 0.0f, Float.MAX_VALUE, Float.NaN}, floats);
+    }
+
+    @Test
+    void testComparator() {
+        String[] arr = {"pear", "fig", "banana", "kiwi"};
+        HeapSort.heapsort(arr, Comparator.comparingInt(String::length).thenComparing(s -> s));
+        assertArrayEquals(new String[]{"fig", "kiwi", "pear", "banana"}, arr);
+
+        Integer[] numbers = {3, 1, 2};
+        HeapSort.heapsort(numbers, Comparator.reverseOrder());
+        assertArrayEquals(new Integer[]{3, 2, 1}, numbers);
+    }
+
+    @Test
+    void testByIntKeyKeepsKeysWithElements() {
+        Random random = new Random(5);
+        int[][] records = new int[1000][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new int[]{random.nextInt(100), i};
+        }
+        HeapSort.heapsortByIntKey(records, r -> r[0]);
+        for (int i = 1; i < records.length; i++) {
+            assertTrue(records[i - 1][0] <= records[i][0]);
+        }
+        boolean[] seen = new boolean[records.length];
+        for (int[] r : records) {
+            seen[r[1]] = true;
+        }
+        for (boolean s : seen) {
+            assertTrue(s);
+        }
+    }
+
+    @Test
+    void testParallelSmallArray() {
+        int[] arr = {5, 3, 8, 4, 1};
+        HeapSort.parallelHeapsort(arr, ForkJoinPool.commonPool());
+        assertArrayEquals(new int[]{1, 3, 4, 5, 8}, arr);
+    }
+
+    @Test
+    void testParallelMatchesArraysSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(7);
+            int[][] inputs = {
+                random.ints(1_000_003).toArray(),
+                random.ints(700_000, 0, 10).toArray(),
+                new int[300_000],
+            };
+            for (int[] arr : inputs) {
+                int[] expected = arr.clone();
+                Arrays.sort(expected);
+                HeapSort.parallelHeapsort(arr, pool);
+                assertArrayEquals(expected, arr);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelSplitsEqualKeysByPosition() {
+        int[] runs = new int[400];
+        int[] bounds = {0, 100, 200, 300, 400};
+        int[][] cuts = ParallelHeapSort.cuts(runs, bounds, new int[]{0, 0, 0});
+        assertEquals(5, cuts.length);
+        for (int s = 0; s < 4; s++) {
+            for (int r = 0; r < 4; r++) {
+                assertEquals(bounds[r] + 25 * s, cuts[s][r]);
+                assertEquals(25, cuts[s + 1][r] - cuts[s][r]);
+            }
+        }
+
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = i % 100 < 20 ? 1 : i % 100 < 80 ? 2 : 3;
+        }
+        cuts = ParallelHeapSort.cuts(runs, bounds, new int[]{2, 2, 3});
+        for (int r = 0; r < 4; r++) {
+            assertEquals(bounds[r] + 40, cuts[1][r]);
+            assertEquals(bounds[r] + 60, cuts[2][r]);
+            assertEquals(bounds[r] + 90, cuts[3][r]);
+        }
+    }
+
+    @Test
+    void testTopKAndSmallestK() {
+        int[] arr = {5, 3, 8, 4, 1, 9, 2};
+        assertArrayEquals(new int[]{9, 8, 5}, HeapSort.topK(arr, 3));
+        assertArrayEquals(new int[]{1, 2, 3}, HeapSort.smallestK(arr, 3));
+        assertArrayEquals(new int[]{5, 3, 8, 4, 1, 9, 2}, arr);
+        assertArrayEquals(new int[]{}, HeapSort.topK(arr, 0));
+        assertArrayEquals(new int[]{9, 8, 5, 4, 3, 2, 1}, HeapSort.topK(arr, 100));
+        assertThrows(IllegalArgumentException.class, () -> HeapSort.smallestK(arr, -1));
+    }
+
+    @Test
+    void testPartialSort() {
+        Random random = new Random(11);
+        for (int k = 0; k <= 50; k += 5) {
+            int[] arr = random.ints(50, -20, 20).toArray();
+            int[] expected = arr.clone();
+            Arrays.sort(expected);
+            HeapSort.partialSort(arr, k);
+            assertArrayEquals(Arrays.copyOf(expected, k), Arrays.copyOf(arr, k));
+            Arrays.sort(arr);
+            assertArrayEquals(expected, arr);
+        }
+        assertThrows(IllegalArgumentException.class, () -> HeapSort.partialSort(new int[2], 3));
+    }
+
+    @Test
+    void testArgsortIsStable() {
+        int[] keys = {3, 1, 3, 2, 1};
+        int[] perm = HeapSort.argsort(keys);
+        assertArrayEquals(new int[]{1, 4, 3, 0, 2}, perm);
+        assertArrayEquals(new int[]{3, 1, 3, 2, 1}, keys);
+        assertArrayEquals(new int[]{}, HeapSort.argsort(new int[]{}));
+    }
+
+    @Test
+    void testApplyPermutationReordersColumns() {
+        Random random = new Random(13);
+        int n = 1000;
+        int[] keys = random.ints(n, -100, 100).toArray();
+        long[] ids = new long[n];
+        double[] scores = new double[n];
+        byte[] flags = new byte[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+            scores[i] = keys[i] / 2.0;
+            flags[i] = (byte) keys[i];
+        }
+        int[] perm = HeapSort.argsort(keys);
+        int[] permCopy = perm.clone();
+        HeapSort.applyPermutation(perm, keys);
+        HeapSort.applyPermutation(perm, ids);
+        HeapSort.applyPermutation(perm, scores);
+        HeapSort.applyPermutation(perm, flags);
+        assertArrayEquals(permCopy, perm);
+        for (int i = 0; i < n; i++) {
+            assertEquals(permCopy[i], ids[i]);
+            assertEquals(keys[i] / 2.0, scores[i]);
+            assertEquals((byte) keys[i], flags[i]);
+            if (i > 0) {
+                assertTrue(keys[i - 1] < keys[i] || keys[i - 1] == keys[i] && ids[i - 1] < ids[i]);
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> HeapSort.applyPermutation(new int[2], new float[3]));
+    }
+
+    @Test
+    void testInstrumentedSortCountsWork() {
+        int[] source = new Random(16).ints(5000).toArray();
+        int[] expected = source.clone();
+        Arrays.sort(expected);
+        for (HeapSort.Variant variant : HeapSort.Variant.values()) {
+            SortStats stats = new SortStats();
+            int[] arr = source.clone();
+            HeapSort.heapsort(arr, variant, stats);
+            assertArrayEquals(expected, arr, variant.name());
+            assertEquals(1, stats.sorts());
+            assertEquals(source.length, stats.elements());
+            assertTrue(stats.comparisons() > source.length, variant.name());
+            assertTrue(stats.moves() > source.length, variant.name());
+            assertTrue(stats.maxDepth() > 0 && stats.maxDepth() < 13, variant.name());
+            assertTrue(stats.buildHeapNanos() >= 0 && stats.extractionNanos() > 0);
+        }
+
+        SortStats bottomUp = new SortStats();
+        SortStats classic = new SortStats();
+        HeapSort.heapsort(source.clone(), HeapSort.Variant.BOTTOM_UP, bottomUp);
+        HeapSort.heapsort(source.clone(), HeapSort.Variant.CLASSIC, classic);
+        assertTrue(bottomUp.comparisons() < classic.comparisons());
+
+        classic.reset();
+        HeapSort.heapsort(new int[0], HeapSort.Variant.CLASSIC, classic);
+        assertEquals(0, classic.comparisons());
+        assertEquals(1, classic.sorts());
+    }
+
     @Test
     void testMainDoesNotThrow() {
         Main.main(new String[]{});
@@ -0,0 +1,73 @@
+package ru.nsu.shadrina;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HybridSortTest {
+
+    private static void assertSorts(int[] arr) {
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        HybridSort.sort(arr);
+        assertArrayEquals(expected, arr);
+    }
+
+    @Test
+    void testSmallArrays() {
+        assertSorts(new int[]{});
+        assertSorts(new int[]{1});
+        assertSorts(new int[]{2, 1});
+        assertSorts(new int[]{5, 3, 8, 4, 1});
+    }
+
+    @Test
+    void testRandomArrays() {
+        Random random = new Random(21);
+        for (int n = 0; n < 2000; n += 37) {
+            assertSorts(random.ints(n).toArray());
+            assertSorts(random.ints(n, 0, 4).toArray());
+        }
+        assertSorts(random.ints(200_000).toArray());
+    }
+
+    @Test
+    void testPresortedShapes() {
+        int n = 100_000;
+        int[] ascending = new int[n];
+        int[] descending = new int[n];
+        int[] fewRuns = new int[n];
+        int[] sawtooth = new int[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = i;
+            descending[i] = n - i;
+            fewRuns[i] = (i % (n / 10)) * 3;
+            sawtooth[i] = i % 100;
+        }
+        ascending[n / 2] = -1;
+        assertSorts(ascending);
+        assertSorts(descending);
+        assertSorts(fewRuns);
+        assertSorts(sawtooth);
+        assertSorts(new int[n]);
+    }
+
+    @Test
+    void testAlternatingPattern() {
+        int n = 1 << 16;
+        int[] arr = new int[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = (i % 2 == 0) ? i : n - i;
+        }
+        assertSorts(arr);
+    }
+
+    @Test
+    void testRange() {
+        int[] arr = {9, 5, 3, 8, 4, 1, 0};
+        HybridSort.sort(arr, 1, 6);
+        assertArrayEquals(new int[]{9, 1, 3, 4, 5, 8, 0}, arr);
+        assertThrows(IndexOutOfBoundsException.class, () -> HybridSort.sort(arr, 3, 8));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.nsu.shadrina;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedDoubleHeapTest {
+
+    @Test
+    void testOrdersLikeDoubleCompare() {
+        IndexedDoubleHeap heap = new IndexedDoubleHeap(8);
+        heap.push(0, Double.NaN);
+        heap.push(1, 0.0);
+        heap.push(2, -0.0);
+        heap.push(3, Double.NEGATIVE_INFINITY);
+        heap.push(4, 2.5);
+        assertEquals(-0.0, heap.priority(2));
+        assertEquals(3, heap.pop());
+        assertEquals(2, heap.pop());
+        assertEquals(1, heap.pop());
+        assertEquals(4, heap.pop());
+        assertEquals(0, heap.pop());
+    }
+
+    @Test
+    void testDecreaseKeyAndRemove() {
+        IndexedDoubleHeap heap = new IndexedDoubleHeap(4);
+        heap.push(0, 1.5);
+        heap.push(1, 2.5);
+        heap.decreaseKey(1, -3.25);
+        assertEquals(1, heap.peekId());
+        assertEquals(-3.25, heap.peekPriority());
+        heap.increaseKey(1, 7.0);
+        assertTrue(heap.remove(0));
+        assertTrue(heap.contains(1));
+        assertEquals(1, heap.size());
+        heap.clear();
+        assertTrue(heap.isEmpty());
+    }
+}
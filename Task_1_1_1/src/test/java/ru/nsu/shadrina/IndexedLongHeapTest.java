@@ -0,0 +1,107 @@
+package ru.nsu.shadrina;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedLongHeapTest {
+
+    @Test
+    void testDecreaseAndIncreaseKey() {
+        IndexedLongHeap heap = new IndexedLongHeap(4);
+        heap.push(0, 50);
+        heap.push(1, 20);
+        heap.push(2, 30);
+        assertEquals(1, heap.peekId());
+        heap.decreaseKey(2, 10);
+        assertEquals(2, heap.peekId());
+        assertEquals(10, heap.peekPriority());
+        heap.increaseKey(2, 60);
+        assertEquals(1, heap.pop());
+        assertEquals(0, heap.pop());
+        assertEquals(2, heap.pop());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testRemoveAndContains() {
+        IndexedLongHeap heap = new IndexedLongHeap(0);
+        heap.push(100, 5);
+        heap.push(7, 3);
+        assertTrue(heap.contains(100));
+        assertFalse(heap.contains(8));
+        assertFalse(heap.contains(-1));
+        assertTrue(heap.remove(7));
+        assertFalse(heap.remove(7));
+        assertEquals(100, heap.peekId());
+        assertEquals(5, heap.priority(100));
+        heap.clear();
+        assertFalse(heap.contains(100));
+        heap.push(100, 1);
+        assertEquals(1, heap.size());
+    }
+
+    @Test
+    void testInvalidOperations() {
+        IndexedLongHeap heap = new IndexedLongHeap(2);
+        heap.push(1, 10);
+        assertThrows(IllegalArgumentException.class, () -> heap.push(1, 5));
+        assertThrows(IllegalArgumentException.class, () -> heap.push(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 11));
+        assertThrows(IllegalArgumentException.class, () -> heap.increaseKey(1, 9));
+        assertThrows(NoSuchElementException.class, () -> heap.priority(0));
+        heap.pop();
+        assertThrows(NoSuchElementException.class, heap::pop);
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(4);
+        int ids = 200;
+        IndexedLongHeap heap = new IndexedLongHeap(16);
+        long[] expected = new long[ids];
+        boolean[] queued = new boolean[ids];
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(ids);
+            long priority = random.nextInt(1000);
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (!queued[id]) {
+                        heap.push(id, priority);
+                        queued[id] = true;
+                        expected[id] = priority;
+                    }
+                    break;
+                case 1:
+                    if (queued[id]) {
+                        if (priority <= expected[id]) {
+                            heap.decreaseKey(id, priority);
+                        } else {
+                            heap.increaseKey(id, priority);
+                        }
+                        expected[id] = priority;
+                    }
+                    break;
+                case 2:
+                    assertEquals(queued[id], heap.remove(id));
+                    queued[id] = false;
+                    break;
+                default:
+                    if (!heap.isEmpty()) {
+                        long min = Long.MAX_VALUE;
+                        for (int i = 0; i < ids; i++) {
+                            if (queued[i]) {
+                                min = Math.min(min, expected[i]);
+                            }
+                        }
+                        assertEquals(min, heap.peekPriority());
+                        int top = heap.pop();
+                        assertEquals(min, expected[top]);
+                        queued[top] = false;
+                    }
+                    break;
+            }
+        }
+    }
+}
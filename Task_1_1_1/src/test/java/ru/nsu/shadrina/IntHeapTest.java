@@ -0,0 +1,64 @@
+package ru.nsu.shadrina;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntHeapTest {
+
+    @Test
+    void testPushPopInOrder() {
+        IntHeap heap = new IntHeap(1);
+        heap.push(5);
+        heap.push(1);
+        heap.push(3);
+        assertEquals(3, heap.size());
+        assertEquals(1, heap.peek());
+        assertEquals(1, heap.pop());
+        assertEquals(3, heap.pop());
+        assertEquals(5, heap.pop());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testEmptyHeapThrows() {
+        IntHeap heap = new IntHeap();
+        assertThrows(NoSuchElementException.class, heap::peek);
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, () -> heap.replaceTop(1));
+        assertThrows(IllegalArgumentException.class, () -> new IntHeap(-1));
+    }
+
+    @Test
+    void testHeapifyAndReplaceTop() {
+        int[] values = {9, 4, 7, 1};
+        IntHeap heap = IntHeap.heapify(values);
+        assertEquals(1, heap.replaceTop(8));
+        assertEquals(4, heap.pop());
+        assertEquals(7, heap.pop());
+        assertEquals(8, heap.pop());
+        assertEquals(9, heap.pop());
+        assertEquals(9, values[0]);
+    }
+
+    @Test
+    void testMatchesPriorityQueue() {
+        Random random = new Random(1);
+        IntHeap heap = new IntHeap();
+        PriorityQueue<Integer> expected = new PriorityQueue<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (random.nextInt(3) > 0 || expected.isEmpty()) {
+                int value = random.nextInt();
+                heap.push(value);
+                expected.add(value);
+            } else {
+                assertEquals((int) expected.poll(), heap.pop());
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        heap.clear();
+        assertTrue(heap.isEmpty());
+    }
+}
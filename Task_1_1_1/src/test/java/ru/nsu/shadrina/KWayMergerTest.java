@@ -0,0 +1,66 @@
+package ru.nsu.shadrina;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KWayMergerTest {
+
+    @Test
+    void testMergeArrays() {
+        int[] merged = KWayMerger.merge(new int[]{1, 4, 9}, new int[]{}, new int[]{2, 3, 10},
+                new int[]{4});
+        assertArrayEquals(new int[]{1, 2, 3, 4, 4, 9, 10}, merged);
+        assertArrayEquals(new int[]{}, KWayMerger.merge());
+    }
+
+    @Test
+    void testThousandShardsWithSmallBatches() {
+        Random random = new Random(8);
+        int[][] shards = new int[1000][];
+        List<Integer> all = new ArrayList<>();
+        for (int r = 0; r < shards.length; r++) {
+            shards[r] = random.ints(random.nextInt(50), -1000, 1000).sorted().toArray();
+            for (int v : shards[r]) {
+                all.add(v);
+            }
+        }
+        int[] expected = all.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+        IntSource[] sources = new IntSource[shards.length];
+        for (int r = 0; r < shards.length; r++) {
+            sources[r] = r % 2 == 0 ? KWayMerger.of(shards[r])
+                    : KWayMerger.of(Arrays.stream(shards[r]).iterator());
+        }
+        KWayMerger merger = new KWayMerger(sources);
+        int[] actual = new int[expected.length];
+        int[] batch = new int[7];
+        int total = 0;
+        int n;
+        while ((n = merger.read(batch)) > 0) {
+            System.arraycopy(batch, 0, actual, total, n);
+            total += n;
+        }
+        assertEquals(expected.length, total);
+        assertArrayEquals(expected, actual);
+        assertEquals(0, merger.read(batch));
+    }
+
+    @Test
+    void testStackedMergersAndExtremes() {
+        KWayMerger left = new KWayMerger(List.of(
+                KWayMerger.of(new int[]{Integer.MIN_VALUE, 0}),
+                KWayMerger.of(new int[]{5, Integer.MAX_VALUE}, 0, 1)));
+        KWayMerger right = new KWayMerger(
+                KWayMerger.of(IntStream.of(-1, Integer.MAX_VALUE).iterator()));
+        KWayMerger merger = new KWayMerger(left, right);
+        int[] out = new int[10];
+        assertEquals(5, merger.fill(out, 2, 8));
+        assertArrayEquals(new int[]{0, 0, Integer.MIN_VALUE, -1, 0, 5, Integer.MAX_VALUE, 0, 0, 0},
+                out);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.nsu.shadrina;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MainTest {
+    @TempDir
+    Path dir;
+
+    private final ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+    private final PrintStream err = new PrintStream(errBytes, true);
+
+    @Test
+    void testBinaryModes() throws IOException {
+        int[] values = new Random(17).ints(200_000).toArray();
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        Path input = dir.resolve("in.bin");
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Integer.BYTES);
+        bytes.asIntBuffer().put(values);
+        Files.write(input, bytes.array());
+
+        for (Main.Mode mode : Main.Mode.values()) {
+            Path output = dir.resolve(mode + ".bin");
+            int status = Main.run(new String[]{"--mode", mode.name().toLowerCase(),
+                "--memory", "64k", input.toString(), output.toString()}, err);
+            assertEquals(0, status, errBytes.toString());
+            int[] actual = new int[values.length];
+            ByteBuffer.wrap(Files.readAllBytes(output)).asIntBuffer().get(actual);
+            assertArrayEquals(expected, actual, mode.name());
+        }
+        assertTrue(errBytes.toString().contains("values/s"));
+    }
+
+    @Test
+    void testTextModes() throws IOException {
+        Path input = dir.resolve("in.txt");
+        Files.write(input, "5\n-3\r\n2147483647\n\n-2147483648\n0\n8"
+                .getBytes(StandardCharsets.US_ASCII));
+        String expected = "-2147483648\n-3\n0\n5\n8\n2147483647\n";
+        for (String mode : new String[]{"sequential", "external"}) {
+            Path output = dir.resolve(mode + ".txt");
+            int status = Main.run(new String[]{"--format", "text", "--mode", mode, "--quiet",
+                "--temp", dir.toString(), input.toString(), output.toString()}, err);
+            assertEquals(0, status, errBytes.toString());
+            assertEquals(expected, Files.readString(output));
+        }
+        assertEquals("", errBytes.toString());
+        try (var files = Files.list(dir)) {
+            assertEquals("external.txt, in.txt, sequential.txt", files
+                    .map(p -> p.getFileName().toString()).sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    @Test
+    void testErrors() throws IOException {
+        Path output = dir.resolve("out");
+        assertEquals(2, Main.run(new String[]{"in"}, err));
+        assertEquals(2, Main.run(new String[]{"--mode", "bogo", "in", "out"}, err));
+        assertEquals(2, Main.run(new String[]{"--memory", "1x", "in", "out"}, err));
+        assertEquals(1, Main.run(new String[]{dir.resolve("missing").toString(),
+            output.toString()}, err));
+
+        Path bad = dir.resolve("bad.txt");
+        Files.writeString(bad, "1\n2a\n");
+        assertEquals(1, Main.run(new String[]{"--format", "text", bad.toString(),
+            output.toString()}, err));
+        Files.writeString(bad, "2147483648\n");
+        assertEquals(1, Main.run(new String[]{"--format", "text", bad.toString(),
+            output.toString()}, err));
+        assertEquals(3L << 20, Main.parseSize("3M"));
+    }
+
+    @Test
+    void testTooManyTextValues() throws IOException {
+        Path input = dir.resolve("in.txt");
+        Files.writeString(input, "3\n1\n2\n");
+        assertArrayEquals(new int[]{3, 1, 2}, IntFiles.readText(input, p -> { }, 3));
+        IOException e = assertThrows(IOException.class,
+            () -> IntFiles.readText(input, p -> { }, 2));
+        assertEquals("Too many values to sort in memory: " + input, e.getMessage());
+    }
+}
@@ -0,0 +1,68 @@
+package ru.nsu.shadrina;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RadixSortTest {
+
+    @Test
+    void testIntArrays() {
+        Random random = new Random(18);
+        int[][] inputs = {
+            {},
+            {7},
+            {Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 0, 1},
+            random.ints(100_000).toArray(),
+            random.ints(100_000, -300, 300).toArray(),
+            random.ints(100_000, 1 << 20, (1 << 20) + 256).toArray(),
+            new int[1000],
+        };
+        for (int[] input : inputs) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            int[] arr = input.clone();
+            RadixSort.sort(arr);
+            assertArrayEquals(expected, arr);
+        }
+    }
+
+    @Test
+    void testLongArrays() {
+        Random random = new Random(81);
+        long[][] inputs = {
+            {},
+            {Long.MAX_VALUE, -1L, Long.MIN_VALUE, 0L, 1L << 40},
+            random.longs(100_000).toArray(),
+            random.longs(100_000, -5000, 5000).toArray(),
+        };
+        for (long[] input : inputs) {
+            long[] expected = input.clone();
+            Arrays.sort(expected);
+            long[] arr = input.clone();
+            RadixSort.sort(arr);
+            assertArrayEquals(expected, arr);
+        }
+    }
+
+    @Test
+    void testRange() {
+        int[] arr = {9, -5, 3, 8, -4, 1, 0};
+        RadixSort.sort(arr, 1, 6);
+        assertArrayEquals(new int[]{9, -5, -4, 1, 3, 8, 0}, arr);
+        long[] longs = {9, -5, 3, 8, -4, 1, 0};
+        RadixSort.sort(longs, 2, 7);
+        assertArrayEquals(new long[]{9, -5, -4, 0, 1, 3, 8}, longs);
+        assertThrows(IndexOutOfBoundsException.class, () -> RadixSort.sort(arr, 3, 8));
+    }
+
+    @Test
+    void testHybridSortUsesRadixForLargeInputs() {
+        int[] arr = new Random(8).ints(HybridSort.RADIX_THRESHOLD * 2).toArray();
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        HybridSort.sort(arr, 0, arr.length);
+        assertArrayEquals(expected, arr);
+    }
+}
@@ -0,0 +1,309 @@
+package ru.nsu.shadrina;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Randomized differential tests: every sort entry point must agree with
+ * {@link Arrays#sort} on generated inputs. The number of inputs and the seed
+ * can be changed with {@code -Dsort.fuzz.inputs} and {@code -Dsort.fuzz.seed};
+ * failure messages include the seed of the failing input.
+ */
+public class SortDifferentialTest {
+    static final int INPUTS = Integer.getInteger("sort.fuzz.inputs", 3000);
+    static final long SEED = Long.getLong("sort.fuzz.seed", 20L);
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Shape of a generated input.
+     */
+    enum Shape {
+        RANDOM, FEW_UNIQUE, EXTREMES, SORTED, REVERSED, SAWTOOTH, ORGAN_PIPE, ALL_EQUAL
+    }
+
+    /**
+     * Generates {@code n} longs in {@code [min, max]} with the given shape.
+     */
+    static long[] generate(SplittableRandom random, Shape shape, int n, long min, long max) {
+        long[] extremes = {min, min + 1, -1, 0, 1, max - 1, max};
+        long[] values = new long[n];
+        long constant = random.nextLong(min, max);
+        for (int i = 0; i < n; i++) {
+            switch (shape) {
+                case FEW_UNIQUE:
+                    values[i] = random.nextInt(4);
+                    break;
+                case EXTREMES:
+                    values[i] = extremes[random.nextInt(extremes.length)];
+                    break;
+                case SORTED:
+                case REVERSED:
+                    values[i] = Math.max(min, Math.min(max, min / 2 + (long) i * 3));
+                    break;
+                case SAWTOOTH:
+                    values[i] = i % 17;
+                    break;
+                case ORGAN_PIPE:
+                    values[i] = Math.min(i, n - i);
+                    break;
+                case ALL_EQUAL:
+                    values[i] = constant;
+                    break;
+                default:
+                    values[i] = random.nextLong() >> (Long.numberOfLeadingZeros(max) - 1);
+                    break;
+            }
+        }
+        if (shape == Shape.REVERSED) {
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                long t = values[i];
+                values[i] = values[j];
+                values[j] = t;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Picks an input size, favouring the edge sizes 0, 1 and 2.
+     */
+    static int size(SplittableRandom random) {
+        int kind = random.nextInt(10);
+        if (kind < 3) {
+            return kind;
+        }
+        if (kind < 6) {
+            return random.nextInt(3, 64);
+        }
+        return random.nextInt(64, 2048);
+    }
+
+    static int[] toInts(long[] values) {
+        return Arrays.stream(values).mapToInt(v -> (int) v).toArray();
+    }
+
+    /**
+     * Runs every int entry point on one input.
+     */
+    static void checkInts(int[] input, SplittableRandom random, String seed) {
+        int n = input.length;
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        for (HeapSort.Variant variant : HeapSort.Variant.values()) {
+            int[] arr = input.clone();
+            HeapSort.heapsort(arr, variant);
+            assertArrayEquals(expected, arr, seed + " " + variant);
+
+            arr = input.clone();
+            HeapSort.heapsort(arr, variant, new SortStats());
+            assertArrayEquals(expected, arr, seed + " instrumented " + variant);
+        }
+        int[] arr = input.clone();
+        HybridSort.sort(arr);
+        assertArrayEquals(expected, arr, seed + " hybrid");
+        arr = input.clone();
+        RadixSort.sort(arr);
+        assertArrayEquals(expected, arr, seed + " radix");
+        IntBuffer buffer = ByteBuffer.allocateDirect(n * Integer.BYTES).asIntBuffer();
+        buffer.put(input).flip();
+        BufferHeapSort.sort(buffer);
+        buffer.get(arr);
+        assertArrayEquals(expected, arr, seed + " buffer");
+
+        int from = random.nextInt(n + 1);
+        int to = random.nextInt(from, n + 1);
+        int[] rangeExpected = input.clone();
+        Arrays.sort(rangeExpected, from, to);
+        arr = input.clone();
+        HeapSort.heapsort(arr, from, to);
+        assertArrayEquals(rangeExpected, arr, seed + " range");
+        arr = input.clone();
+        HybridSort.sort(arr, from, to);
+        assertArrayEquals(rangeExpected, arr, seed + " hybrid range");
+        arr = input.clone();
+        RadixSort.sort(arr, from, to);
+        assertArrayEquals(rangeExpected, arr, seed + " radix range");
+
+        int k = random.nextInt(n + 1);
+        arr = input.clone();
+        HeapSort.partialSort(arr, k);
+        assertArrayEquals(Arrays.copyOf(expected, k), Arrays.copyOf(arr, k), seed + " partial");
+        assertArrayEquals(Arrays.copyOf(expected, k), HeapSort.smallestK(input, k),
+                seed + " smallestK");
+        int[] top = HeapSort.topK(input, k);
+        for (int i = 0; i < k; i++) {
+            assertEquals(expected[n - 1 - i], top[i], seed + " topK");
+        }
+
+        int[] perm = HeapSort.argsort(input);
+        for (int i = 1; i < n; i++) {
+            int a = input[perm[i - 1]];
+            int b = input[perm[i]];
+            assertTrue(a < b || a == b && perm[i - 1] < perm[i], seed + " argsort");
+        }
+        arr = input.clone();
+        HeapSort.applyPermutation(perm, arr);
+        assertArrayEquals(expected, arr, seed + " applyPermutation");
+
+        Integer[] boxed = Arrays.stream(input).boxed().toArray(Integer[]::new);
+        HeapSort.heapsort(boxed, Comparator.reverseOrder());
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected[n - 1 - i], (int) boxed[i], seed + " comparator");
+        }
+        HeapSort.heapsortByIntKey(boxed, Integer::intValue);
+        assertArrayEquals(expected, Arrays.stream(boxed).mapToInt(Integer::intValue).toArray(),
+                seed + " byIntKey");
+
+        int shards = 1 + random.nextInt(8);
+        int[][] split = new int[shards][];
+        for (int s = 0; s < shards; s++) {
+            split[s] = Arrays.copyOfRange(input, s * n / shards, (s + 1) * n / shards);
+            Arrays.sort(split[s]);
+        }
+        assertArrayEquals(expected, KWayMerger.merge(split), seed + " merge");
+
+        IntHeap heap = IntHeap.heapify(input);
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected[i], heap.pop(), seed + " IntHeap");
+        }
+    }
+
+    /**
+     * Runs every long and narrow primitive entry point on one input.
+     */
+    static void checkOtherPrimitives(SplittableRandom random, Shape shape, int n, String seed) {
+        long[] longs = generate(random, shape, n, Long.MIN_VALUE, Long.MAX_VALUE);
+        long[] longExpected = longs.clone();
+        Arrays.sort(longExpected);
+        long[] longArr = longs.clone();
+        HeapSort.heapsort(longArr);
+        assertArrayEquals(longExpected, longArr, seed + " long");
+        longArr = longs.clone();
+        RadixSort.sort(longArr);
+        assertArrayEquals(longExpected, longArr, seed + " long radix");
+        LongBuffer longBuffer = LongBuffer.wrap(longs.clone());
+        BufferHeapSort.sort(longBuffer);
+        assertArrayEquals(longExpected, longBuffer.array(), seed + " long buffer");
+
+        long[] wide = generate(random, shape, n, Short.MIN_VALUE, Short.MAX_VALUE);
+        short[] shorts = new short[n];
+        char[] chars = new char[n];
+        byte[] bytes = new byte[n];
+        double[] doubles = new double[n];
+        float[] floats = new float[n];
+        double[] specials = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE, 1.0};
+        for (int i = 0; i < n; i++) {
+            shorts[i] = (short) wide[i];
+            chars[i] = (char) wide[i];
+            bytes[i] = (byte) wide[i];
+            doubles[i] = shape == Shape.EXTREMES
+                    ? specials[random.nextInt(specials.length)] : wide[i] / 7.0;
+            floats[i] = (float) doubles[i];
+        }
+        short[] shortExpected = shorts.clone();
+        Arrays.sort(shortExpected);
+        HeapSort.heapsort(shorts);
+        assertArrayEquals(shortExpected, shorts, seed + " short");
+        char[] charExpected = chars.clone();
+        Arrays.sort(charExpected);
+        HeapSort.heapsort(chars);
+        assertArrayEquals(charExpected, chars, seed + " char");
+        byte[] byteExpected = bytes.clone();
+        Arrays.sort(byteExpected);
+        HeapSort.heapsort(bytes);
+        assertArrayEquals(byteExpected, bytes, seed + " byte");
+        double[] doubleExpected = doubles.clone();
+        Arrays.sort(doubleExpected);
+        HeapSort.heapsort(doubles);
+        assertArrayEquals(doubleExpected, doubles, seed + " double");
+        float[] floatExpected = floats.clone();
+        Arrays.sort(floatExpected);
+        HeapSort.heapsort(floats);
+        assertArrayEquals(floatExpected, floats, seed + " float");
+    }
+
+    /**
+     * Checks {@code inputs} generated inputs of edge and small sizes.
+     */
+    static void checkGenerated(long seed, int inputs) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        Shape[] shapes = Shape.values();
+        for (int i = 0; i < inputs; i++) {
+            long inputSeed = seeds.nextLong();
+            SplittableRandom random = new SplittableRandom(inputSeed);
+            Shape shape = shapes[random.nextInt(shapes.length)];
+            int n = size(random);
+            String label = "seed " + inputSeed + " " + shape + " n=" + n;
+            int[] input = toInts(generate(random, shape, n, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            checkInts(input, random, label);
+            checkOtherPrimitives(random, shape, n, label);
+        }
+    }
+
+    @Test
+    void testGeneratedInputs() {
+        checkGenerated(SEED, INPUTS);
+    }
+
+    @Test
+    void testLargeInputs() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (Shape shape : Shape.values()) {
+                int n = random.nextInt(HybridSort.RADIX_THRESHOLD, 3 * HybridSort.RADIX_THRESHOLD);
+                int[] input = toInts(generate(random, shape, n,
+                        Integer.MIN_VALUE, Integer.MAX_VALUE));
+                int[] expected = input.clone();
+                Arrays.sort(expected);
+                int[] arr = input.clone();
+                HeapSort.parallelHeapsort(arr, pool);
+                assertArrayEquals(expected, arr, shape + " parallel");
+                arr = input.clone();
+                HybridSort.sort(arr);
+                assertArrayEquals(expected, arr, shape + " hybrid");
+                arr = input.clone();
+                HeapSort.heapsort(arr, HeapSort.Variant.AUTO);
+                assertArrayEquals(expected, arr, shape + " auto");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testExternalSortWithSmallBudgets() throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (Shape shape : Shape.values()) {
+            int n = shape == Shape.RANDOM ? 100_000 : random.nextInt(0, 20_000);
+            int[] input = toInts(generate(random, shape, n, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            ByteBuffer bytes = ByteBuffer.allocate(n * Integer.BYTES);
+            bytes.asIntBuffer().put(input);
+            Path in = dir.resolve(shape + ".in");
+            Path out = dir.resolve(shape + ".out");
+            Files.write(in, bytes.array());
+            ExternalHeapSort.sort(in, out, ExternalHeapSort.MIN_MEMORY_BUDGET, dir);
+
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            int[] actual = new int[n];
+            ByteBuffer.wrap(Files.readAllBytes(out)).asIntBuffer().get(actual);
+            assertArrayEquals(expected, actual, shape + " external");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.nsu.shadrina;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Long-running suites, run with {@code ./gradlew stressTest} and skipped by
+ * {@code test}. {@code -Dsort.stress.bytes} sets the size of the external sort
+ * input (default 4 GiB) and {@code -Dsort.stress.memory} its memory budget
+ * (default 256 MiB). The external sort is skipped if the temporary directory
+ * has less than three times the input size free.
+ */
+@Tag("stress")
+public class SortStressTest {
+    private static final long BYTES = Long.getLong("sort.stress.bytes", 4L << 30) & ~3L;
+    private static final long MEMORY = Long.getLong("sort.stress.memory", 256L << 20);
+    private static final int BUFFER = 1 << 20;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testMillionsOfGeneratedInputs() {
+        SortDifferentialTest.checkGenerated(SortDifferentialTest.SEED,
+                Integer.getInteger("sort.stress.inputs", 2_000_000));
+    }
+
+    @Test
+    void testMultiGigabyteExternalSort() throws IOException {
+        long usable = Files.getFileStore(dir).getUsableSpace();
+        Assumptions.assumeTrue(usable > 3 * BYTES,
+                "needs " + 3 * BYTES + " free bytes, " + usable + " available");
+
+        Path input = dir.resolve("input.bin");
+        Path output = dir.resolve("output.bin");
+        SplittableRandom random = new SplittableRandom(SortDifferentialTest.SEED);
+        long inputSum = 0;
+        try (FileChannel channel = FileChannel.open(input,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER);
+            IntBuffer ints = buffer.asIntBuffer();
+            for (long written = 0; written < BYTES; written += BUFFER) {
+                int count = (int) Math.min(BUFFER, BYTES - written) / Integer.BYTES;
+                ints.clear();
+                for (int i = 0; i < count; i++) {
+                    int value = random.nextInt();
+                    ints.put(value);
+                    inputSum += mix(value);
+                }
+                buffer.clear().limit(count * Integer.BYTES);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+
+        ExternalHeapSort.sort(input, output, MEMORY, dir);
+        Files.delete(input);
+        assertEquals(BYTES, Files.size(output));
+
+        long outputSum = 0;
+        long count = 0;
+        int previous = Integer.MIN_VALUE;
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER);
+            while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= Integer.BYTES) {
+                    int value = buffer.getInt();
+                    assertTrue(previous <= value, "out of order at index " + count);
+                    previous = value;
+                    outputSum += mix(value);
+                    count++;
+                }
+                buffer.compact();
+            }
+        }
+        assertEquals(BYTES / Integer.BYTES, count);
+        assertEquals(inputSum, outputSum);
+    }
+
+    /**
+     * Spreads a value so that the sum over a file detects lost or duplicated values.
+     */
+    private static long mix(int value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.nsu.dashkovskii;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Скорость раундов без пользователя по базовой стратегии: одна операция —
+ * одна раздача, поэтому результат в ops/s равен числу раздач в секунду на
+ * поток. Запуск: {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RoundBenchmark {
+    @Param({"1", "6", "8"})
+    public int decks;
+
+    private final Player player = new Player();
+    private final Dealer dealer = new Dealer();
+    private final PlayerPolicy strategy = new BasicStrategy();
+    private final RoundListener silentListener = new RoundListener() {
+    };
+    private Deck deck;
+
+    /**
+     * Создает колоду с подрезной картой на трех четвертях перед замером.
+     */
+    @Setup
+    public void setUp() {
+        deck = new Deck(decks, 0.75, new SplittableRandom(42));
+    }
+
+    @Benchmark
+    public Round.Result basicStrategy() {
+        return Round.playRound(player, dealer, deck, strategy);
+    }
+
+    @Benchmark
+    public Round.Result basicStrategyWithListener() {
+        return Round.playRound(player, dealer, deck, strategy, silentListener);
+    }
+}
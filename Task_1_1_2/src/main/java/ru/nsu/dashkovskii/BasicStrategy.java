@@ -0,0 +1,34 @@
+package ru.nsu.dashkovskii;
+
+/**
+ * Базовая стратегия для игры без удвоения и сплита: решение «взять или
+ * остановиться» по очкам игрока, мягкости руки и открытой карте дилера.
+ */
+public class BasicStrategy implements PlayerPolicy {
+    /**
+     * Минимальная жесткая сумма, на которой игрок останавливается, по значению
+     * открытой карты дилера (индекс 2..11, туз — 11).
+     */
+    private static final int[] HARD_STAND = {0, 0, 13, 13, 12, 12, 12, 17, 17, 17, 17, 17};
+
+    /**
+     * Минимальная мягкая сумма, на которой игрок останавливается.
+     */
+    private static final int[] SOFT_STAND = {0, 0, 18, 18, 18, 18, 18, 18, 18, 19, 19, 19};
+
+    /**
+     * Решает, брать ли карту, по таблице базовой стратегии.
+     *
+     * @param hand текущая рука игрока
+     * @param dealerUpCard открытая карта дилера
+     * @return true, чтобы взять карту
+     */
+    @Override
+    public boolean hit(Hand hand, Card dealerUpCard) {
+        int up = dealerUpCard.getRank() == Rank.ACE ? 11 : dealerUpCard.getValue();
+        if (hand.isSoft()) {
+            return hand.getScore() < SOFT_STAND[up];
+        }
+        return hand.getScore() < HARD_STAND[up];
+    }
+}
@@ -2,12 +2,32 @@ package ru.nsu.dashkovskii;
 
 /**
  * Класс, представляющий одну карту.
+ *
+ * <p>Каждая карта кодируется числом {@code масть * 13 + достоинство} от 0 до 51.
+ * Колоды и руки хранят такие коды, а объекты {@code Card} для стандартных
+ * карт берутся из общей таблицы через {@link #of(int)}.
  */
 public class Card {
+    /**
+     * Количество различных карт в колоде.
+     */
+    public static final int COUNT = 52;
+
+    private static final Suit[] SUITS = Suit.values();
+    private static final Rank[] RANKS = Rank.values();
+    private static final int[] VALUES = {2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 11};
+    private static final Card[] CARDS = new Card[COUNT];
+
+    static {
+        for (int code = 0; code < COUNT; code++) {
+            CARDS[code] = new Card(suitOf(code), rankOf(code), valueOf(code));
+        }
+    }
 
     private final Suit suit;
     private final Rank rank;
     private final int value;
+    private final String text;
 
     /**
      * Конструктор карты.
@@ -20,6 +40,80 @@ public class Card {
         this.suit = suit;
         this.rank = rank;
         this.value = value;
+        this.text = rank + " " + suit + " (" + value + ") ";
+    }
+
+    /**
+     * Возвращает стандартную карту по коду.
+     *
+     * @param code код карты от 0 до 51
+     * @return общий экземпляр карты
+     * @throws ArrayIndexOutOfBoundsException если код вне диапазона
+     */
+    public static Card of(int code) {
+        return CARDS[code];
+    }
+
+    /**
+     * Возвращает стандартную карту по масти и достоинству.
+     *
+     * @param suit масть
+     * @param rank достоинство
+     * @return общий экземпляр карты
+     */
+    public static Card of(Suit suit, Rank rank) {
+        return CARDS[code(suit, rank)];
+    }
+
+    /**
+     * Возвращает код карты по масти и достоинству.
+     *
+     * @param suit масть
+     * @param rank достоинство
+     * @return код от 0 до 51
+     */
+    public static int code(Suit suit, Rank rank) {
+        return suit.ordinal() * RANKS.length + rank.ordinal();
+    }
+
+    /**
+     * Возвращает стандартное значение карты с данным кодом: туз — 11,
+     * картинки — 10.
+     *
+     * @param code код карты
+     * @return значение
+     */
+    public static int valueOf(int code) {
+        return VALUES[code % RANKS.length];
+    }
+
+    /**
+     * Возвращает достоинство карты с данным кодом.
+     *
+     * @param code код карты
+     * @return достоинство
+     */
+    public static Rank rankOf(int code) {
+        return RANKS[code % RANKS.length];
+    }
+
+    /**
+     * Возвращает масть карты с данным кодом.
+     *
+     * @param code код карты
+     * @return масть
+     */
+    public static Suit suitOf(int code) {
+        return SUITS[code / RANKS.length];
+    }
+
+    /**
+     * Возвращает код карты.
+     *
+     * @return код от 0 до 51
+     */
+    public int code() {
+        return code(suit, rank);
     }
 
     /**
@@ -56,6 +150,6 @@ public class Card {
      */
     @Override
     public String toString() {
-        return rank + " " + suit + " (" + value + ") ";
+        return text;
     }
-}
\ No newline at end of file
+}
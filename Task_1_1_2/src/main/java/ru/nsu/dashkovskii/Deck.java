@@ -1,52 +1,147 @@
 package ru.nsu.dashkovskii;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Objects;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
- * Класс, представляющий колоду карт.
+ * Класс, представляющий колоду (шуз) из нескольких колод карт.
+ *
+ * <p>Карты хранятся массивом кодов (см. {@link Card#code()}), а раздача
+ * сдвигает курсор и возвращает общий экземпляр карты, поэтому выдача карты
+ * выполняется за O(1) и без выделения памяти. В колоду вставляется подрезная
+ * карта: когда раздача доходит до нее, текущий раунд доигрывается, а перед
+ * следующим колода перемешивается заново (см. {@link #needsShuffle()}).
+ *
+ * <p>Перемешивание идет тасовкой Фишера — Йетса от начала колоды и при
+ * перемешивании между раундами доходит только до подрезной карты; карты
+ * за ней выбираются по одной, если раунд до них дойдет. Индексы берутся
+ * умножением 32 случайных бит на размер диапазона, по два из одного
+ * {@code nextLong()}: смещение вероятностей не больше 2<sup>-23</sup> для
+ * восьми колод, зато без деления.
  */
 public class Deck {
-    private final List<Card> cards = new ArrayList<>();
-    private final Random random = new Random();
+    private final byte[] cards;
+    private final RandomGenerator random;
+    private final int cutCard;
+    private int cursor;
+    private int shuffled;
+
     /**
-     * Создает колоду из заданного количества колод.
+     * Создает колоду из заданного количества колод. Подрезная карта лежит
+     * в самом конце, поэтому колода перемешивается, только когда закончится.
      *
      * @param numDecks количество колод
      */
     public Deck(int numDecks) {
-        Suit[] suits = Suit.values();
-        Rank[] ranks = Rank.values();
-        int[] values = {2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 11};
-
-        for (int d = 0; d < numDecks; d++) {
-            for (Suit suit : suits) {
-                for (int j = 0; j < ranks.length; j++) {
-                    cards.add(
-                        new Card(suit, ranks[j], values[j])
-                    );
-                }
-            }
+        this(numDecks, 1.0);
+    }
+
+    /**
+     * Создает колоду из заданного количества колод с подрезной картой.
+     *
+     * @param numDecks количество колод
+     * @param penetration доля карт, раздаваемых до перемешивания, от 0 до 1
+     * @throws IllegalArgumentException если доля вне (0, 1]
+     */
+    public Deck(int numDecks, double penetration) {
+        this(numDecks, penetration, new Random());
+    }
+
+    /**
+     * Создает колоду с подрезной картой, перемешиваемую данным генератором.
+     * Генератор используется только этой колодой, поэтому, например,
+     * отдельный {@link java.util.SplittableRandom} на каждый поток дает
+     * воспроизводимые раздачи без конкуренции за общий генератор.
+     *
+     * @param numDecks количество колод
+     * @param penetration доля карт, раздаваемых до перемешивания, от 0 до 1
+     * @param random генератор случайных чисел
+     * @throws IllegalArgumentException если доля вне (0, 1]
+     */
+    public Deck(int numDecks, double penetration, RandomGenerator random) {
+        this.random = Objects.requireNonNull(random, "random");
+        if (!(penetration > 0 && penetration <= 1)) {
+            throw new IllegalArgumentException("Доля раздачи вне (0, 1]: " + penetration);
+        }
+        cards = new byte[Math.max(0, numDecks) * Card.COUNT];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) (i % Card.COUNT);
         }
+        cutCard = Math.max(1, (int) Math.round(cards.length * penetration));
         shuffle();
     }
 
     /**
-     * Перемешивает колоду.
+     * Перемешивает еще не розданные карты.
      */
     public void shuffle() {
-        Collections.shuffle(cards, random);
+        shuffle(cards.length);
+    }
+
+    /**
+     * Ставит на места с {@code cursor} до {@code end} случайные карты из еще
+     * не розданных; остальные остаются для выбора по одной в {@link #dealCard()}.
+     */
+    private void shuffle(int end) {
+        end = Math.min(end, cards.length);
+        int i = cursor;
+        for (; i + 1 < end; i += 2) {
+            long bits = random.nextLong();
+            swap(i, i + bounded((int) (bits >>> 32), cards.length - i));
+            swap(i + 1, i + 1 + bounded((int) bits, cards.length - i - 1));
+        }
+        if (i < end) {
+            swap(i, i + bounded(random.nextInt(), cards.length - i));
+        }
+        shuffled = end;
+    }
+
+    private static int bounded(int bits, int bound) {
+        return (int) (((bits & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+
+    private void swap(int i, int j) {
+        byte temp = cards[i];
+        cards[i] = cards[j];
+        cards[j] = temp;
+    }
+
+    /**
+     * Возвращает в колоду все розданные карты и перемешивает ее.
+     */
+    public void reshuffle() {
+        cursor = 0;
+        shuffle(cutCard);
     }
 
     /**
-     * Раздает одну карту из колоды.
+     * Проверяет, дошла ли раздача до подрезной карты. Вызывается между
+     * раундами: если результат true, колоду нужно перемешать через
+     * {@link #reshuffle()} до следующей раздачи.
+     *
+     * @return true, если пора перемешивать колоду
+     */
+    public boolean needsShuffle() {
+        return cursor >= cutCard;
+    }
+
+    /**
+     * Раздает одну карту из колоды. Подрезная карта раздачу не прерывает;
+     * колода перемешивается заново, только если карты закончились совсем.
      *
      * @return карта
      */
     public Card dealCard() {
-        return cards.remove(0);
+        if (cursor == shuffled) {
+            if (cursor == cards.length) {
+                reshuffle();
+            } else {
+                swap(cursor, cursor + bounded(random.nextInt(), cards.length - cursor));
+                shuffled++;
+            }
+        }
+        return Card.of(cards[cursor++]);
     }
 
     /**
@@ -55,6 +150,24 @@ public class Deck {
      * @return количество карт
      */
     public int size() {
-        return cards.size();
+        return cards.length - cursor;
+    }
+
+    /**
+     * Возвращает количество карт, которые еще будут розданы до подрезной карты.
+     *
+     * @return количество карт до перемешивания
+     */
+    public int remaining() {
+        return Math.max(0, cutCard - cursor);
+    }
+
+    /**
+     * Возвращает долю уже розданных карт.
+     *
+     * @return доля от 0 до 1
+     */
+    public double penetration() {
+        return cards.length == 0 ? 0 : (double) cursor / cards.length;
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,45 @@
 package ru.nsu.dashkovskii;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Класс, представляющий руку игрока или дилера.
+ *
+ * <p>Очки пересчитываются при каждом добавлении карты: рука хранит лучшую
+ * сумму и число тузов, которые пока считаются за 11. Поэтому
+ * {@link #getScore()}, {@link #isBust()} и {@link #isSoft()} работают за O(1).
+ * Рука хранит сами добавленные карты; обычные карты берутся из общей таблицы
+ * {@link Card#of(int)}, поэтому раздача не выделяет память.
  */
 public class Hand {
-    private final List<Card> cards = new ArrayList<>();
+    private Card[] cards = new Card[8];
+    private int size;
+    private int score;
+    private int softAces;
+    private final List<Card> view = new CardList();
 
     /**
-     * Добавляет карту в руку.
+     * Добавляет карту в руку. Туз со значением 11 считается мягким: если сумма
+     * превысит 21, он будет засчитан за 1.
      *
      * @param card карта
      */
     public void addCard(Card card) {
-        cards.add(card);
+        if (size == cards.length) {
+            cards = Arrays.copyOf(cards, size * 2);
+        }
+        cards[size++] = card;
+        int value = card.getValue();
+        score += value;
+        if (value == 11 && card.getRank() == Rank.ACE) {
+            softAces++;
+        }
+        while (score > 21 && softAces > 0) {
+            score -= 10;
+            softAces--;
+        }
     }
 
     /**
@@ -24,31 +48,25 @@ public class Hand {
      * @return сумма очков
      */
     public int getScore() {
-        int score = 0;
-        int aceCount = 0;
-
-        for (Card card : cards) {
-            score += card.getValue();
-            if (card.getRank().equals("Туз")) {
-                aceCount++;
-            }
-        }
-
-        while (score > 21 && aceCount > 0) {
-            score -= 10;
-            aceCount--;
-        }
-
         return score;
     }
 
+    /**
+     * Проверяет, мягкая ли рука, то есть есть ли туз, засчитанный за 11.
+     *
+     * @return true, если рука мягкая
+     */
+    public boolean isSoft() {
+        return softAces > 0;
+    }
+
     /**
      * Проверяет, есть ли перебор (больше 21).
      *
      * @return true, если перебор
      */
     public boolean isBust() {
-        return getScore() > 21;
+        return score > 21;
     }
 
     /**
@@ -57,16 +75,27 @@ public class Hand {
      * @return true, если блэкджек
      */
     public boolean isBlackjack() {
-        return cards.size() == 2 && getScore() == 21;
+        return size == 2 && score == 21;
+    }
+
+    /**
+     * Убирает все карты из руки, не освобождая память под них. Ссылки на
+     * старые карты не обнуляются: они вне {@code size} и будут перезаписаны.
+     */
+    public void clear() {
+        size = 0;
+        score = 0;
+        softAces = 0;
     }
 
     /**
-     * Возвращает список карт в руке.
+     * Возвращает список карт в руке. Список только для чтения, кроме метода
+     * {@code clear()}, который очищает руку.
      *
      * @return список карт
      */
     public List<Card> getCards() {
-        return cards;
+        return view;
     }
 
     /**
@@ -76,6 +105,29 @@ public class Hand {
      */
     @Override
     public String toString() {
-        return cards.toString() + " > " + getScore();
+        return view + " > " + score;
+    }
+
+    /**
+     * Представление карт руки в виде списка без копирования.
+     */
+    private class CardList extends AbstractList<Card> {
+        @Override
+        public Card get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Индекс " + index + ", карт " + size);
+            }
+            return cards[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            Hand.this.clear();
+        }
     }
 }
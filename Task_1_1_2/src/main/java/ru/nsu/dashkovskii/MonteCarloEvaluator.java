@@ -0,0 +1,204 @@
+package ru.nsu.dashkovskii;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Оценивает стратегию игрока методом Монте-Карло на всех ядрах.
+ *
+ * <p>Раздачи делятся между задачами {@link ForkJoinPool}. Каждая задача играет
+ * своей колодой со своим {@link SplittableRandom}, отщепленным от начального
+ * зерна в порядке деления, поэтому при одном зерне и числе раздач итог
+ * не зависит от числа потоков. Счетчики исходов общие и накапливаются
+ * в {@link LongAdder} пачками раздач, без блокировок.
+ */
+public class MonteCarloEvaluator {
+    /**
+     * Наибольшее число раздач, которое задача играет без деления.
+     */
+    static final long LEAF_HANDS = 1 << 18;
+
+    /**
+     * Число раздач, после которого задача сбрасывает свои счетчики в общие.
+     */
+    static final int BATCH_HANDS = 1 << 14;
+
+    private final PlayerPolicy policy;
+    private final int numDecks;
+    private final double penetration;
+
+    /**
+     * Создает оценщик стратегии.
+     *
+     * @param policy стратегия игрока; вызывается из нескольких потоков сразу,
+     *               поэтому не должна хранить изменяемое состояние
+     * @param numDecks количество колод в шузе
+     * @param penetration доля шуза, раздаваемая до перемешивания, от 0 до 1
+     * @throws IllegalArgumentException если доля вне (0, 1] или колод нет
+     */
+    public MonteCarloEvaluator(PlayerPolicy policy, int numDecks, double penetration) {
+        if (numDecks <= 0) {
+            throw new IllegalArgumentException("Нужна хотя бы одна колода: " + numDecks);
+        }
+        if (!(penetration > 0 && penetration <= 1)) {
+            throw new IllegalArgumentException("Доля раздачи вне (0, 1]: " + penetration);
+        }
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.numDecks = numDecks;
+        this.penetration = penetration;
+    }
+
+    /**
+     * Играет заданное число раздач в общем пуле потоков.
+     *
+     * @param hands число раздач
+     * @param seed начальное зерно
+     * @return итоги
+     */
+    public SimulationResult evaluate(long hands, long seed) {
+        return evaluate(hands, seed, ForkJoinPool.commonPool(), 0, result -> { });
+    }
+
+    /**
+     * Играет заданное число раздач в данном пуле, сообщая промежуточные итоги
+     * каждый раз, когда сыграно еще {@code reportEvery} раздач. Промежуточные
+     * итоги передаются из рабочих потоков, по одному вызову за раз.
+     *
+     * @param hands число раздач
+     * @param seed начальное зерно
+     * @param pool пул потоков
+     * @param reportEvery шаг промежуточных итогов в раздачах или 0, чтобы не сообщать
+     * @param progress получатель промежуточных итогов
+     * @return итоги
+     * @throws IllegalArgumentException если число раздач или шаг отрицательны
+     */
+    public SimulationResult evaluate(long hands, long seed, ForkJoinPool pool, long reportEvery,
+                                     Consumer<SimulationResult> progress) {
+        if (hands < 0 || reportEvery < 0) {
+            throw new IllegalArgumentException("Отрицательное число раздач");
+        }
+        Counters counters = new Counters(reportEvery, progress);
+        pool.invoke(new Simulation(policy, numDecks, penetration, hands,
+                new SplittableRandom(seed), counters));
+        return counters.snapshot();
+    }
+
+    /**
+     * Общие счетчики исходов всех задач.
+     */
+    private static class Counters {
+        final LongAdder wins = new LongAdder();
+        final LongAdder blackjacks = new LongAdder();
+        final LongAdder losses = new LongAdder();
+        final LongAdder pushes = new LongAdder();
+        final AtomicLong played = new AtomicLong();
+        final long reportEvery;
+        final Consumer<SimulationResult> progress;
+
+        Counters(long reportEvery, Consumer<SimulationResult> progress) {
+            this.reportEvery = reportEvery;
+            this.progress = Objects.requireNonNull(progress, "progress");
+        }
+
+        void add(long wins, long blackjacks, long losses, long pushes) {
+            this.wins.add(wins);
+            this.blackjacks.add(blackjacks);
+            this.losses.add(losses);
+            this.pushes.add(pushes);
+            long hands = wins + blackjacks + losses + pushes;
+            long done = played.addAndGet(hands);
+            if (reportEvery > 0 && done / reportEvery != (done - hands) / reportEvery) {
+                synchronized (this) {
+                    progress.accept(snapshot());
+                }
+            }
+        }
+
+        SimulationResult snapshot() {
+            return new SimulationResult(wins.sum(), blackjacks.sum(), losses.sum(), pushes.sum());
+        }
+    }
+
+    /**
+     * Задача, играющая {@code hands} раздач или делящая их пополам. Задачи
+     * не сериализуются, поэтому поля не обязаны быть сериализуемыми.
+     */
+    @SuppressWarnings("serial")
+    private static class Simulation extends RecursiveAction {
+        private final PlayerPolicy policy;
+        private final int numDecks;
+        private final double penetration;
+        private final long hands;
+        private final SplittableRandom random;
+        private final Counters counters;
+
+        Simulation(PlayerPolicy policy, int numDecks, double penetration, long hands,
+                   SplittableRandom random, Counters counters) {
+            this.policy = policy;
+            this.numDecks = numDecks;
+            this.penetration = penetration;
+            this.hands = hands;
+            this.random = random;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void compute() {
+            if (hands > LEAF_HANDS) {
+                long half = hands / 2;
+                Simulation left = new Simulation(policy, numDecks, penetration, half,
+                        random.split(), counters);
+                Simulation right = new Simulation(policy, numDecks, penetration, hands - half,
+                        random.split(), counters);
+                invokeAll(left, right);
+                return;
+            }
+            Deck deck = new Deck(numDecks, penetration, random);
+            Player player = new Player();
+            Dealer dealer = new Dealer();
+            BlackjackFlag blackjack = new BlackjackFlag();
+            long left = hands;
+            while (left > 0) {
+                int batch = (int) Math.min(BATCH_HANDS, left);
+                long wins = 0;
+                long blackjacks = 0;
+                long losses = 0;
+                long pushes = 0;
+                for (int i = 0; i < batch; i++) {
+                    blackjack.seen = false;
+                    Round.Result result = Round.playRound(player, dealer, deck, policy, blackjack);
+                    if (result == Round.Result.PLAYER_WIN) {
+                        if (blackjack.seen) {
+                            blackjacks++;
+                        } else {
+                            wins++;
+                        }
+                    } else if (result == Round.Result.DEALER_WIN) {
+                        losses++;
+                    } else {
+                        pushes++;
+                    }
+                }
+                counters.add(wins, blackjacks, losses, pushes);
+                left -= batch;
+            }
+        }
+    }
+
+    /**
+     * Слушатель, отмечающий блэкджек игрока с раздачи.
+     */
+    private static class BlackjackFlag implements RoundListener {
+        boolean seen;
+
+        @Override
+        public void onPlayerBlackjack(Hand player) {
+            seen = true;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.nsu.dashkovskii;
+
+/**
+ * Стратегия игрока: решает, брать ли карту, без участия пользователя.
+ */
+@FunctionalInterface
+public interface PlayerPolicy {
+    /**
+     * Решает, брать ли еще одну карту.
+     *
+     * @param hand текущая рука игрока
+     * @param dealerUpCard открытая карта дилера
+     * @return true, чтобы взять карту, false, чтобы остановиться
+     */
+    boolean hit(Hand hand, Card dealerUpCard);
+}
@@ -21,66 +21,187 @@ public class Round {
      * @return результат раунда
      */
     public static Result playRound(Player player, Dealer dealer, Deck deck, View view) {
-        player.getHand().getCards().clear();
-        dealer.getHand().getCards().clear();
+        ViewPlayer viewPlayer = new ViewPlayer(view);
+        return playRound(player, dealer, deck, viewPlayer, viewPlayer);
+    }
 
-        player.getHand().addCard(deck.dealCard());
-        player.getHand().addCard(deck.dealCard());
-        dealer.getHand().addCard(deck.dealCard());
-        dealer.getHand().addCard(deck.dealCard());
+    /**
+     * Запускает один раунд без пользователя: решения принимает стратегия.
+     *
+     * @param player игрок
+     * @param dealer дилер
+     * @param deck   колода карт
+     * @param policy стратегия игрока
+     * @return результат раунда
+     */
+    public static Result playRound(Player player, Dealer dealer, Deck deck, PlayerPolicy policy) {
+        return playRound(player, dealer, deck, policy, null);
+    }
 
-        view.printDeal();
-        view.printPlayerHand(player.getHand());
-        view.printDealerFirstCard(dealer.getHand().getCards().get(0));
+    /**
+     * Запускает один раунд без пользователя: решения принимает стратегия,
+     * а события раунда передаются слушателю. Если в прошлом раунде раздача
+     * дошла до подрезной карты, колода перемешивается перед раздачей.
+     * Блэкджек игрока против блэкджека дилера — ничья, а блэкджек дилера
+     * бьет 21 очко игрока из трех и более карт.
+     *
+     * @param player   игрок
+     * @param dealer   дилер
+     * @param deck     колода карт
+     * @param policy   стратегия игрока
+     * @param listener слушатель событий или null
+     * @return результат раунда
+     */
+    public static Result playRound(Player player, Dealer dealer, Deck deck, PlayerPolicy policy,
+                                   RoundListener listener) {
+        if (deck.needsShuffle()) {
+            deck.reshuffle();
+        }
+        Hand playerHand = player.getHand();
+        Hand dealerHand = dealer.getHand();
+        playerHand.clear();
+        dealerHand.clear();
 
-        if (player.getHand().isBlackjack()) {
-            view.printBlackjack();
+        playerHand.addCard(deck.dealCard());
+        playerHand.addCard(deck.dealCard());
+        Card upCard = deck.dealCard();
+        Card holeCard = deck.dealCard();
+        dealerHand.addCard(upCard);
+        dealerHand.addCard(holeCard);
+
+        if (listener != null) {
+            listener.onDeal(playerHand, upCard);
+        }
+
+        if (playerHand.isBlackjack()) {
+            if (dealerHand.isBlackjack()) {
+                if (listener != null) {
+                    listener.onDealerReveal(holeCard, dealerHand);
+                    listener.onShowdown(Result.DRAW, 21, 21);
+                }
+                return Result.DRAW;
+            }
+            if (listener != null) {
+                listener.onPlayerBlackjack(playerHand);
+            }
             return Result.PLAYER_WIN;
         }
 
-        while (true) {
-            view.printPlayerTurn();
-            int choice = view.getPlayerChoice();
-            if (choice == 1) {
-                Card c = deck.dealCard();
-                player.getHand().addCard(c);
-                view.printPlayerDraw(c);
-                view.printPlayerHandAfterDraw(player.getHand());
-                if (player.getHand().isBust()) {
-                    view.printPlayerBust();
-                    return Result.DEALER_WIN;
+        while (policy.hit(playerHand, upCard)) {
+            Card c = deck.dealCard();
+            playerHand.addCard(c);
+            if (listener != null) {
+                listener.onPlayerDraw(c, playerHand);
+            }
+            if (playerHand.isBust()) {
+                if (listener != null) {
+                    listener.onPlayerBust(playerHand);
                 }
-            } else {
-                break;
+                return Result.DEALER_WIN;
             }
         }
 
-        view.printDealerTurn();
-        view.printDealerReveal(dealer.getHand().getCards().get(1));
-        view.printDealerHand(dealer.getHand());
+        if (listener != null) {
+            listener.onDealerReveal(holeCard, dealerHand);
+        }
 
-        while (dealer.getHand().getScore() < 17) {
+        while (dealerHand.getScore() < 17) {
             Card c = deck.dealCard();
-            dealer.getHand().addCard(c);
-            view.printDealerDraw(c);
-            view.printDealerHand(dealer.getHand());
-            if (dealer.getHand().isBust()) {
-                view.printDealerBust();
+            dealerHand.addCard(c);
+            if (listener != null) {
+                listener.onDealerDraw(c, dealerHand);
+            }
+            if (dealerHand.isBust()) {
+                if (listener != null) {
+                    listener.onDealerBust(dealerHand);
+                }
                 return Result.PLAYER_WIN;
             }
         }
 
-        int playerScore = player.getHand().getScore();
-        int dealerScore = dealer.getHand().getScore();
+        int playerScore = playerHand.getScore();
+        int dealerScore = dealerHand.getScore();
+        Result result;
         if (playerScore > dealerScore) {
-            view.printPlayerWin();
-            return Result.PLAYER_WIN;
-        } else if (playerScore < dealerScore) {
-            view.printDealerWin();
-            return Result.DEALER_WIN;
+            result = Result.PLAYER_WIN;
+        } else if (playerScore < dealerScore || dealerHand.isBlackjack()) {
+            result = Result.DEALER_WIN;
         } else {
-            view.printDraw();
-            return Result.DRAW;
+            result = Result.DRAW;
+        }
+        if (listener != null) {
+            listener.onShowdown(result, playerScore, dealerScore);
+        }
+        return result;
+    }
+
+    /**
+     * Переводит ход раунда в вызовы {@link View}: решения запрашиваются
+     * у пользователя, события выводятся в консоль.
+     */
+    private static class ViewPlayer implements PlayerPolicy, RoundListener {
+        private final View view;
+
+        ViewPlayer(View view) {
+            this.view = view;
+        }
+
+        @Override
+        public boolean hit(Hand hand, Card dealerUpCard) {
+            view.printPlayerTurn();
+            return view.getPlayerChoice() == 1;
+        }
+
+        @Override
+        public void onDeal(Hand player, Card dealerUpCard) {
+            view.printDeal();
+            view.printPlayerHand(player);
+            view.printDealerFirstCard(dealerUpCard);
+        }
+
+        @Override
+        public void onPlayerBlackjack(Hand player) {
+            view.printBlackjack();
+        }
+
+        @Override
+        public void onPlayerDraw(Card card, Hand player) {
+            view.printPlayerDraw(card);
+            view.printPlayerHandAfterDraw(player);
+        }
+
+        @Override
+        public void onPlayerBust(Hand player) {
+            view.printPlayerBust();
+        }
+
+        @Override
+        public void onDealerReveal(Card holeCard, Hand dealer) {
+            view.printDealerTurn();
+            view.printDealerReveal(holeCard);
+            view.printDealerHand(dealer);
+        }
+
+        @Override
+        public void onDealerDraw(Card card, Hand dealer) {
+            view.printDealerDraw(card);
+            view.printDealerHand(dealer);
+        }
+
+        @Override
+        public void onDealerBust(Hand dealer) {
+            view.printDealerBust();
+        }
+
+        @Override
+        public void onShowdown(Result result, int playerScore, int dealerScore) {
+            if (result == Result.PLAYER_WIN) {
+                view.printPlayerWin();
+            } else if (result == Result.DEALER_WIN) {
+                view.printDealerWin();
+            } else {
+                view.printDraw();
+            }
         }
     }
 }
@@ -0,0 +1,77 @@
+package ru.nsu.dashkovskii;
+
+/**
+ * Получатель событий раунда. Все методы по умолчанию ничего не делают,
+ * поэтому достаточно переопределить только нужные.
+ */
+public interface RoundListener {
+    /**
+     * Вызывается после раздачи двух карт игроку и дилеру.
+     *
+     * @param player рука игрока
+     * @param dealerUpCard открытая карта дилера
+     */
+    default void onDeal(Hand player, Card dealerUpCard) {
+    }
+
+    /**
+     * Вызывается, если у игрока блэкджек с раздачи.
+     *
+     * @param player рука игрока
+     */
+    default void onPlayerBlackjack(Hand player) {
+    }
+
+    /**
+     * Вызывается после того, как игрок взял карту.
+     *
+     * @param card взятая карта
+     * @param player рука игрока
+     */
+    default void onPlayerDraw(Card card, Hand player) {
+    }
+
+    /**
+     * Вызывается при переборе у игрока.
+     *
+     * @param player рука игрока
+     */
+    default void onPlayerBust(Hand player) {
+    }
+
+    /**
+     * Вызывается, когда дилер открывает закрытую карту.
+     *
+     * @param holeCard закрытая карта дилера
+     * @param dealer рука дилера
+     */
+    default void onDealerReveal(Card holeCard, Hand dealer) {
+    }
+
+    /**
+     * Вызывается после того, как дилер взял карту.
+     *
+     * @param card взятая карта
+     * @param dealer рука дилера
+     */
+    default void onDealerDraw(Card card, Hand dealer) {
+    }
+
+    /**
+     * Вызывается при переборе у дилера.
+     *
+     * @param dealer рука дилера
+     */
+    default void onDealerBust(Hand dealer) {
+    }
+
+    /**
+     * Вызывается при сравнении очков, если никто не перебрал.
+     *
+     * @param result результат раунда
+     * @param playerScore очки игрока
+     * @param dealerScore очки дилера
+     */
+    default void onShowdown(Round.Result result, int playerScore, int dealerScore) {
+    }
+}
@@ -0,0 +1,150 @@
+package ru.nsu.dashkovskii;
+
+import java.util.Locale;
+
+/**
+ * Итоги серии раздач: число выигрышей, проигрышей и ничьих и оценка
+ * ожидаемого выигрыша на одну ставку. Выигрыш оплачивается 1:1, блэкджек — 3:2;
+ * блэкджек игрока против блэкджека дилера считается ничьей (см.
+ * {@link Round#playRound(Player, Dealer, Deck, PlayerPolicy, RoundListener)}).
+ */
+public class SimulationResult {
+    /**
+     * Выплата за блэкджек в ставках.
+     */
+    public static final double BLACKJACK_PAYOUT = 1.5;
+
+    private static final double Z_95 = 1.959963984540054;
+
+    private final long wins;
+    private final long blackjacks;
+    private final long losses;
+    private final long pushes;
+
+    /**
+     * Создает итоги по счетчикам исходов.
+     *
+     * @param wins выигрыши, кроме блэкджеков
+     * @param blackjacks выигрыши блэкджеком
+     * @param losses проигрыши
+     * @param pushes ничьи
+     */
+    public SimulationResult(long wins, long blackjacks, long losses, long pushes) {
+        this.wins = wins;
+        this.blackjacks = blackjacks;
+        this.losses = losses;
+        this.pushes = pushes;
+    }
+
+    /**
+     * Возвращает число сыгранных раздач.
+     *
+     * @return число раздач
+     */
+    public long getHands() {
+        return wins + blackjacks + losses + pushes;
+    }
+
+    /**
+     * Возвращает число выигрышей, кроме блэкджеков.
+     *
+     * @return число выигрышей
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Возвращает число выигрышей блэкджеком.
+     *
+     * @return число блэкджеков
+     */
+    public long getBlackjacks() {
+        return blackjacks;
+    }
+
+    /**
+     * Возвращает число проигрышей.
+     *
+     * @return число проигрышей
+     */
+    public long getLosses() {
+        return losses;
+    }
+
+    /**
+     * Возвращает число ничьих.
+     *
+     * @return число ничьих
+     */
+    public long getPushes() {
+        return pushes;
+    }
+
+    /**
+     * Возвращает средний выигрыш на раздачу в ставках.
+     *
+     * @return оценка ожидаемого выигрыша или 0, если раздач не было
+     */
+    public double expectedValue() {
+        long hands = getHands();
+        return hands == 0 ? 0 : (wins - losses + BLACKJACK_PAYOUT * blackjacks) / hands;
+    }
+
+    /**
+     * Возвращает выборочную дисперсию выигрыша одной раздачи.
+     *
+     * @return дисперсия или 0, если раздач меньше двух
+     */
+    public double variance() {
+        long hands = getHands();
+        if (hands < 2) {
+            return 0;
+        }
+        double mean = expectedValue();
+        double squares = wins + losses + BLACKJACK_PAYOUT * BLACKJACK_PAYOUT * blackjacks;
+        return Math.max(0, (squares - hands * mean * mean) / (hands - 1));
+    }
+
+    /**
+     * Возвращает стандартную ошибку оценки ожидаемого выигрыша.
+     *
+     * @return стандартная ошибка
+     */
+    public double standardError() {
+        long hands = getHands();
+        return hands == 0 ? 0 : Math.sqrt(variance() / hands);
+    }
+
+    /**
+     * Возвращает нижнюю границу 95% доверительного интервала ожидаемого выигрыша.
+     *
+     * @return нижняя граница
+     */
+    public double lowerBound() {
+        return expectedValue() - Z_95 * standardError();
+    }
+
+    /**
+     * Возвращает верхнюю границу 95% доверительного интервала ожидаемого выигрыша.
+     *
+     * @return верхняя граница
+     */
+    public double upperBound() {
+        return expectedValue() + Z_95 * standardError();
+    }
+
+    /**
+     * Возвращает строковое представление итогов.
+     *
+     * @return строка с исходами и оценкой выигрыша
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "Раздач %d: выигрышей %d, блэкджеков %d, проигрышей %d, ничьих %d,"
+                        + " выигрыш на ставку %.5f (95%%: %.5f..%.5f)",
+                getHands(), wins, blackjacks, losses, pushes,
+                expectedValue(), lowerBound(), upperBound());
+    }
+}
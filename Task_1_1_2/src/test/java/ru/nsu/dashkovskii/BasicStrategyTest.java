@@ -0,0 +1,45 @@
+package ru.nsu.dashkovskii;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BasicStrategyTest {
+    private final BasicStrategy strategy = new BasicStrategy();
+
+    private static Hand hand(Rank... ranks) {
+        Hand hand = new Hand();
+        for (Rank rank : ranks) {
+            hand.addCard(card(rank));
+        }
+        return hand;
+    }
+
+    private static Card card(Rank rank) {
+        int value = rank == Rank.ACE ? 11 : Math.min(10, rank.ordinal() + 2);
+        return new Card(Suit.SPADES, rank, value);
+    }
+
+    @Test
+    void testHardTotals() {
+        assertTrue(strategy.hit(hand(Rank.TEN, Rank.TWO), card(Rank.TWO)));
+        assertFalse(strategy.hit(hand(Rank.TEN, Rank.TWO), card(Rank.FIVE)));
+        assertTrue(strategy.hit(hand(Rank.TEN, Rank.SIX), card(Rank.SEVEN)));
+        assertFalse(strategy.hit(hand(Rank.TEN, Rank.SIX), card(Rank.SIX)));
+        assertTrue(strategy.hit(hand(Rank.TEN, Rank.SIX), card(Rank.ACE)));
+        assertFalse(strategy.hit(hand(Rank.TEN, Rank.SEVEN), card(Rank.ACE)));
+        assertTrue(strategy.hit(hand(Rank.FIVE, Rank.SIX), card(Rank.SIX)));
+    }
+
+    @Test
+    void testSoftTotals() {
+        assertTrue(strategy.hit(hand(Rank.ACE, Rank.SIX), card(Rank.SIX)));
+        assertFalse(strategy.hit(hand(Rank.ACE, Rank.SEVEN), card(Rank.EIGHT)));
+        assertTrue(strategy.hit(hand(Rank.ACE, Rank.SEVEN), card(Rank.NINE)));
+        assertFalse(strategy.hit(hand(Rank.ACE, Rank.EIGHT), card(Rank.ACE)));
+        assertTrue(strategy.hit(hand(Rank.ACE, Rank.ACE), card(Rank.TEN)));
+        assertTrue(strategy.hit(hand(Rank.ACE, Rank.SIX, Rank.NINE), card(Rank.TEN)));
+        assertFalse(strategy.hit(hand(Rank.ACE, Rank.SIX, Rank.TEN), card(Rank.SIX)));
+    }
+}
@@ -1,6 +1,8 @@
 package ru.nsu.dashkovskii;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -14,4 +16,21 @@ class CardTest {
         assertEquals(11, card.getValue());
         assertTrue(card.toString().contains("Туз"));
     }
+
+    @Test
+    void testCodesAndFlyweights() {
+        for (int code = 0; code < Card.COUNT; code++) {
+            Card card = Card.of(code);
+            assertEquals(code, card.code());
+            assertSame(card, Card.of(card.getSuit(), card.getRank()));
+            assertEquals(Card.valueOf(code), card.getValue());
+            assertEquals(Card.rankOf(code), card.getRank());
+            assertEquals(Card.suitOf(code), card.getSuit());
+        }
+        assertEquals(11, Card.of(Suit.HEARTS, Rank.ACE).getValue());
+        assertEquals(10, Card.of(Suit.CLUBS, Rank.QUEEN).getValue());
+        assertEquals(Card.code(Suit.SPADES, Rank.ACE), new Card(Suit.SPADES, Rank.ACE, 1).code());
+        assertNotSame(Card.of(0), new Card(Suit.HEARTS, Rank.TWO, 2));
+        assertEquals("Дама Трефы (10) ", Card.of(Suit.CLUBS, Rank.QUEEN).toString());
+    }
 }
@@ -2,6 +2,9 @@ package ru.nsu.dashkovskii;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
 import org.junit.jupiter.api.Test;
 
 class DeckTest {
@@ -34,4 +37,91 @@ class DeckTest {
         }
         assertEquals(0, deck.size());
     }
+
+    @Test
+    void cutCardTriggersReshuffle() {
+        Deck deck = new Deck(2, 0.75);
+        assertEquals(78, deck.remaining());
+        assertEquals(0.0, deck.penetration());
+        for (int i = 0; i < 78; i++) {
+            deck.dealCard();
+        }
+        assertEquals(0, deck.remaining());
+        assertEquals(26, deck.size());
+        assertEquals(0.75, deck.penetration());
+        assertTrue(deck.needsShuffle());
+        deck.dealCard();
+        assertEquals(25, deck.size());
+        assertEquals(0, deck.remaining());
+        deck.reshuffle();
+        assertFalse(deck.needsShuffle());
+        assertEquals(104, deck.size());
+        assertEquals(78, deck.remaining());
+    }
+
+    @Test
+    void cutCardDoesNotReshuffleMidRound() {
+        Deck deck = new Deck(1, 0.1);
+        int[] counts = new int[Card.COUNT];
+        for (int i = 0; i < Card.COUNT; i++) {
+            counts[deck.dealCard().code()]++;
+        }
+        for (int count : counts) {
+            assertEquals(1, count);
+        }
+        assertTrue(deck.needsShuffle());
+    }
+
+    @Test
+    void cardsBeforeAndAfterCutCardAreUniform() {
+        Deck deck = new Deck(1, 0.5, new SplittableRandom(3));
+        int[] first = new int[Card.COUNT];
+        int[] last = new int[Card.COUNT];
+        for (int i = 0; i < 1000 * Card.COUNT; i++) {
+            deck.reshuffle();
+            first[deck.dealCard().code()]++;
+            for (int j = 1; j < Card.COUNT - 1; j++) {
+                deck.dealCard();
+            }
+            last[deck.dealCard().code()]++;
+        }
+        for (int code = 0; code < Card.COUNT; code++) {
+            assertTrue(Math.abs(first[code] - 1000) < 150, "первая карта " + code);
+            assertTrue(Math.abs(last[code] - 1000) < 150, "последняя карта " + code);
+        }
+    }
+
+    @Test
+    void emptyDeckReshufflesAllCards() {
+        Deck deck = new Deck(1);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 52 * 3; i++) {
+            counts.merge(deck.dealCard().toString(), 1, Integer::sum);
+        }
+        assertEquals(52, counts.size());
+        assertTrue(counts.values().stream().allMatch(c -> c == 3));
+    }
+
+    @Test
+    void shuffleKeepsDealtCards() {
+        Deck deck = new Deck(1);
+        for (int i = 0; i < 40; i++) {
+            deck.dealCard();
+        }
+        deck.shuffle();
+        assertEquals(12, deck.size());
+        deck.reshuffle();
+        assertEquals(52, deck.size());
+        assertThrows(IllegalArgumentException.class, () -> new Deck(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Deck(1, 1.5));
+    }
+
+    @Test
+    void sameGeneratorSeedDealsSameCards() {
+        Deck first = new Deck(6, 0.75, new SplittableRandom(5));
+        Deck second = new Deck(6, 0.75, new SplittableRandom(5));
+        for (int i = 0; i < 1000; i++) {
+            assertSame(first.dealCard(), second.dealCard());
+        }
+    }
 }
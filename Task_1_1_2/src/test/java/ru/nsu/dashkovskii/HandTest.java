@@ -2,6 +2,8 @@ package ru.nsu.dashkovskii;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -28,8 +30,13 @@ class HandTest {
     @Test
     void testAceAs1() {
         Hand hand = new Hand();
-        hand.addCard(new Card(Suit.SPADES, Rank.ACE, 1));
+        Card ace = new Card(Suit.SPADES, Rank.ACE, 1);
+        hand.addCard(ace);
         hand.addCard(new Card(Suit.HEARTS, Rank.NINE, 9));
+        assertEquals(10, hand.getScore());
+        assertSame(ace, hand.getCards().get(0));
+        assertEquals(1, hand.getCards().get(0).getValue());
+        assertEquals("[Туз Пики (1) , 9 Черви (9) ] > 10", hand.toString());
         hand.addCard(new Card(Suit.DIAMONDS, Rank.FIVE, 5));
         assertEquals(15, hand.getScore());
     }
@@ -50,4 +57,45 @@ class HandTest {
         hand.addCard(new Card(Suit.DIAMONDS, Rank.FIVE, 5));
         assertTrue(hand.isBust());
     }
+
+    @Test
+    void testSoftAcesAreReduced() {
+        Hand hand = new Hand();
+        hand.addCard(Card.of(Suit.SPADES, Rank.ACE));
+        hand.addCard(Card.of(Suit.HEARTS, Rank.ACE));
+        assertEquals(12, hand.getScore());
+        assertTrue(hand.isSoft());
+        hand.addCard(Card.of(Suit.CLUBS, Rank.NINE));
+        assertEquals(21, hand.getScore());
+        assertTrue(hand.isSoft());
+        assertFalse(hand.isBlackjack());
+        hand.addCard(Card.of(Suit.CLUBS, Rank.FIVE));
+        assertEquals(16, hand.getScore());
+        assertFalse(hand.isSoft());
+        assertFalse(hand.isBust());
+    }
+
+    @Test
+    void testClearReusesHand() {
+        Hand hand = new Hand();
+        for (int i = 0; i < 20; i++) {
+            hand.addCard(Card.of(Suit.DIAMONDS, Rank.TWO));
+        }
+        assertEquals(40, hand.getScore());
+        assertTrue(hand.isBust());
+        hand.getCards().clear();
+        assertEquals(0, hand.getScore());
+        assertEquals(0, hand.getCards().size());
+        hand.addCard(Card.of(Suit.SPADES, Rank.ACE));
+        hand.addCard(Card.of(Suit.SPADES, Rank.KING));
+        assertTrue(hand.isBlackjack());
+        assertSame(Card.of(Suit.SPADES, Rank.KING), hand.getCards().get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> hand.getCards().get(2));
+        assertThrows(UnsupportedOperationException.class,
+                () -> hand.getCards().add(Card.of(0)));
+        assertEquals("[Туз Пики (11) , Король Пики (10) ] > 21", hand.toString());
+        hand.clear();
+        assertFalse(hand.isSoft());
+        assertEquals("[] > 0", hand.toString());
+    }
 }
@@ -0,0 +1,69 @@
+package ru.nsu.dashkovskii;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class MonteCarloEvaluatorTest {
+    private static final long HANDS = 3 * MonteCarloEvaluator.LEAF_HANDS + 12345;
+
+    private static String counts(SimulationResult result) {
+        return result.getWins() + " " + result.getBlackjacks() + " "
+                + result.getLosses() + " " + result.getPushes();
+    }
+
+    @Test
+    void testResultDoesNotDependOnThreads() {
+        MonteCarloEvaluator evaluator = new MonteCarloEvaluator(new BasicStrategy(), 6, 0.75);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            SimulationResult first = evaluator.evaluate(HANDS, 42, single, 0, r -> { });
+            SimulationResult second = evaluator.evaluate(HANDS, 42, four, 0, r -> { });
+            assertEquals(HANDS, first.getHands());
+            assertEquals(counts(first), counts(second));
+            SimulationResult other = evaluator.evaluate(HANDS, 43, four, 0, r -> { });
+            assertNotEquals(counts(first), counts(other));
+        } finally {
+            single.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void testExpectedValueOfStrategies() {
+        SimulationResult basic = new MonteCarloEvaluator(new BasicStrategy(), 6, 0.75)
+                .evaluate(HANDS, 7);
+        SimulationResult neverHit = new MonteCarloEvaluator((hand, up) -> false, 6, 0.75)
+                .evaluate(HANDS, 7);
+        assertTrue(basic.lowerBound() < basic.expectedValue());
+        assertTrue(basic.expectedValue() < basic.upperBound());
+        assertTrue(basic.expectedValue() > -0.1 && basic.expectedValue() < 0.05,
+                basic.toString());
+        assertTrue(neverHit.upperBound() < basic.lowerBound(), neverHit.toString());
+        assertTrue(basic.getBlackjacks() > 0);
+    }
+
+    @Test
+    void testIncrementalReports() {
+        List<Long> reported = new ArrayList<>();
+        SimulationResult result = new MonteCarloEvaluator(new BasicStrategy(), 1, 0.5)
+                .evaluate(HANDS, 1, ForkJoinPool.commonPool(), 100_000,
+                        r -> reported.add(r.getHands()));
+        assertEquals(HANDS / 100_000, reported.size());
+        for (int i = 1; i < reported.size(); i++) {
+            assertTrue(reported.get(i - 1) <= reported.get(i));
+        }
+        assertEquals(HANDS, result.getHands());
+        assertEquals(0, new MonteCarloEvaluator(new BasicStrategy(), 1, 1).evaluate(0, 1)
+                .getHands());
+        assertThrows(IllegalArgumentException.class,
+                () -> new MonteCarloEvaluator(new BasicStrategy(), 0, 1));
+    }
+}
@@ -1,8 +1,11 @@
 package ru.nsu.dashkovskii;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Scanner;
 import org.junit.jupiter.api.Test;
@@ -79,4 +82,126 @@ public class RoundTest {
         Round.Result result = Round.playRound(player, dealer, deck, view);
         assertEquals(Round.Result.DRAW, result);
     }
+
+    /**
+     * Проверяет раунд без пользователя: стратегия берет карту, дилер перебирает,
+     * слушатель получает события в порядке игры.
+     */
+    @Test
+    void testHeadlessRoundWithListener() {
+        Deck deck = new TestDeck(
+                new Card(Suit.SPADES, Rank.TEN, 10),
+                new Card(Suit.HEARTS, Rank.TWO, 2),
+                new Card(Suit.CLUBS, Rank.TEN, 10),
+                new Card(Suit.DIAMONDS, Rank.SIX, 6),
+                new Card(Suit.SPADES, Rank.FIVE, 5),
+                new Card(Suit.HEARTS, Rank.KING, 10));
+        List<String> events = new ArrayList<>();
+        RoundListener listener = new RoundListener() {
+            @Override
+            public void onDeal(Hand player, Card dealerUpCard) {
+                events.add("deal " + player.getScore() + " " + dealerUpCard.getValue());
+            }
+
+            @Override
+            public void onPlayerDraw(Card card, Hand player) {
+                events.add("player " + player.getScore());
+            }
+
+            @Override
+            public void onDealerReveal(Card holeCard, Hand dealer) {
+                events.add("reveal " + dealer.getScore());
+            }
+
+            @Override
+            public void onDealerDraw(Card card, Hand dealer) {
+                events.add("dealer " + dealer.getScore());
+            }
+
+            @Override
+            public void onDealerBust(Hand dealer) {
+                events.add("dealer bust");
+            }
+        };
+
+        Round.Result result = Round.playRound(new Player(), new Dealer(), deck,
+                new BasicStrategy(), listener);
+        assertEquals(Round.Result.PLAYER_WIN, result);
+        assertEquals(List.of("deal 12 10", "player 17", "reveal 16", "dealer 26", "dealer bust"),
+                events);
+    }
+
+    /**
+     * Проверяет, что раунд без слушателя учитывает перебор игрока.
+     */
+    @Test
+    void testHeadlessPlayerBust() {
+        Deck deck = new TestDeck(
+                new Card(Suit.SPADES, Rank.TEN, 10),
+                new Card(Suit.HEARTS, Rank.SIX, 6),
+                new Card(Suit.CLUBS, Rank.SEVEN, 7),
+                new Card(Suit.DIAMONDS, Rank.TEN, 10),
+                new Card(Suit.SPADES, Rank.QUEEN, 10));
+
+        Round.Result result = Round.playRound(new Player(), new Dealer(), deck,
+                (hand, up) -> true);
+        assertEquals(Round.Result.DEALER_WIN, result);
+    }
+
+    /**
+     * Проверяет, что подрезная карта не прерывает раунд, а колода
+     * перемешивается только перед следующим раундом.
+     */
+    @Test
+    void testCutCardShufflesBetweenRounds() {
+        Deck deck = new Deck(1, 0.05);
+        Player player = new Player();
+        Dealer dealer = new Dealer();
+
+        Round.playRound(player, dealer, deck, (hand, up) -> hand.getScore() < 21);
+        int dealt = player.getHand().getCards().size() + dealer.getHand().getCards().size();
+        assertEquals(52 - dealt, deck.size());
+        assertTrue(deck.needsShuffle());
+
+        Round.playRound(player, dealer, deck, (hand, up) -> false);
+        dealt = player.getHand().getCards().size() + dealer.getHand().getCards().size();
+        assertEquals(52 - dealt, deck.size());
+    }
+
+    /**
+     * Проверяет, что блэкджек игрока против блэкджека дилера — ничья,
+     * а блэкджек дилера бьет 21 очко из трех карт.
+     */
+    @Test
+    void testDealerBlackjack() {
+        Deck deck = new TestDeck(
+                Card.of(Suit.SPADES, Rank.ACE),
+                Card.of(Suit.HEARTS, Rank.KING),
+                Card.of(Suit.CLUBS, Rank.ACE),
+                Card.of(Suit.DIAMONDS, Rank.QUEEN));
+        List<String> events = new ArrayList<>();
+        RoundListener listener = new RoundListener() {
+            @Override
+            public void onPlayerBlackjack(Hand player) {
+                events.add("blackjack");
+            }
+
+            @Override
+            public void onShowdown(Round.Result result, int playerScore, int dealerScore) {
+                events.add(result + " " + playerScore + ":" + dealerScore);
+            }
+        };
+        assertEquals(Round.Result.DRAW, Round.playRound(new Player(), new Dealer(), deck,
+                (hand, up) -> false, listener));
+        assertEquals(List.of("DRAW 21:21"), events);
+
+        deck = new TestDeck(
+                Card.of(Suit.SPADES, Rank.SEVEN),
+                Card.of(Suit.HEARTS, Rank.FOUR),
+                Card.of(Suit.CLUBS, Rank.ACE),
+                Card.of(Suit.DIAMONDS, Rank.QUEEN),
+                Card.of(Suit.SPADES, Rank.KING));
+        assertEquals(Round.Result.DEALER_WIN, Round.playRound(new Player(), new Dealer(), deck,
+                (hand, up) -> hand.getScore() < 21));
+    }
 }
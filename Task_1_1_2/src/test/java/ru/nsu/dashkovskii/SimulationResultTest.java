@@ -0,0 +1,28 @@
+package ru.nsu.dashkovskii;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SimulationResultTest {
+    @Test
+    void testStatistics() {
+        SimulationResult result = new SimulationResult(2, 1, 1, 0);
+        assertEquals(4, result.getHands());
+        assertEquals(0.625, result.expectedValue(), 1e-12);
+        assertEquals((5.25 - 4 * 0.625 * 0.625) / 3, result.variance(), 1e-12);
+        assertEquals(Math.sqrt(result.variance() / 4), result.standardError(), 1e-12);
+        assertEquals(2 * 1.959963984540054 * result.standardError(),
+                result.upperBound() - result.lowerBound(), 1e-12);
+        assertTrue(result.toString().contains("Раздач 4"));
+    }
+
+    @Test
+    void testEmptyResult() {
+        SimulationResult result = new SimulationResult(0, 0, 0, 0);
+        assertEquals(0, result.expectedValue(), 0);
+        assertEquals(0, result.variance(), 0);
+        assertEquals(0, result.lowerBound(), 0);
+    }
+}